@@ -0,0 +1,139 @@
+package com.project.conveyor.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сравнение результатов JMH (формат JSON) с базовой линией.
+ * Формат базовой линии:
+ * <pre>
+ * {
+ *   "tolerance": 0.15,
+ *   "benchmarks": {
+ *     "com.project.conveyor.service.OffersBenchmark.getLoanOffers": {
+ *       "thrpt": 1200.0, "p0.99": 2500.0, "gc.alloc.rate.norm": 180000.0
+ *     }
+ *   }
+ * }
+ * </pre>
+ * thrpt - операций в секунду, p0.99 - 99-й перцентиль задержки в микросекундах,
+ * gc.alloc.rate.norm - байт на операцию. Для всех метрик, кроме thrpt, ухудшение - это рост значения.
+ * Имя бенчмарка с параметрами дополняется их значениями: "...PaymentScheduleEngineBenchmark.schedule:engine=template".
+ * Измеренная метрика, которой нет в базовой линии, считается ошибкой сравнения (MISSING).
+ */
+public final class BaselineComparator {
+
+    static final String THROUGHPUT = "thrpt";
+    static final String P99 = "p0.99";
+    static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private static final double DEFAULT_TOLERANCE = 0.15;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BaselineComparator() {
+    }
+
+    /**
+     * @return описания метрик, ухудшившихся сильнее допустимого отклонения, и измеренных метрик,
+     * которых нет в базовой линии
+     */
+    public static List<String> compare(Path result, Path baseline) throws IOException {
+        return compare(summarize(MAPPER.readTree(result.toFile())), baseline);
+    }
+
+    /**
+     * @param actual метрики в формате раздела benchmarks базовой линии
+     */
+    static List<String> compare(ObjectNode actual, Path baseline) throws IOException {
+        JsonNode expected = MAPPER.readTree(baseline.toFile());
+        double tolerance = expected.path("tolerance").asDouble(DEFAULT_TOLERANCE);
+        JsonNode expectedBenchmarks = expected.path("benchmarks");
+
+        // Бенчмарки из базовой линии, не попавшие в запуск (отбор по регулярному выражению), не проверяются
+        List<String> regressions = new ArrayList<>();
+        Iterator<Map.Entry<String, JsonNode>> benchmarks = actual.fields();
+        while (benchmarks.hasNext()) {
+            Map.Entry<String, JsonNode> benchmark = benchmarks.next();
+            JsonNode base = expectedBenchmarks.path(benchmark.getKey());
+            Iterator<Map.Entry<String, JsonNode>> metrics = benchmark.getValue().fields();
+            while (metrics.hasNext()) {
+                Map.Entry<String, JsonNode> metric = metrics.next();
+                if (!base.has(metric.getKey())) {
+                    regressions.add(String.format("MISSING %s %s: not in baseline, measured %.3f (update with --update-baseline)",
+                            benchmark.getKey(), metric.getKey(), metric.getValue().asDouble()));
+                    continue;
+                }
+                double expectedValue = base.get(metric.getKey()).asDouble();
+                double value = metric.getValue().asDouble();
+                // Для пропускной способности хуже - меньше, для задержки и аллокаций - больше
+                boolean regression = metric.getKey().equals(THROUGHPUT)
+                        ? value < expectedValue * (1 - tolerance)
+                        : value > expectedValue * (1 + tolerance);
+                if (regression) {
+                    regressions.add(String.format("REGRESSION %s %s: baseline %.3f, measured %.3f",
+                            benchmark.getKey(), metric.getKey(), expectedValue, value));
+                }
+            }
+        }
+        return regressions;
+    }
+
+    public static void writeBaseline(Path result, Path baseline) throws IOException {
+        writeBaseline(summarize(MAPPER.readTree(result.toFile())), baseline);
+    }
+
+    static void writeBaseline(ObjectNode actual, Path baseline) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("tolerance", DEFAULT_TOLERANCE);
+        root.set("benchmarks", actual);
+        MAPPER.writeValue(baseline.toFile(), root);
+    }
+
+    private static ObjectNode summarize(JsonNode results) {
+        ObjectNode summary = MAPPER.createObjectNode();
+        for (JsonNode run : results) {
+            String name = name(run);
+            ObjectNode metrics = summary.has(name)
+                    ? (ObjectNode) summary.get(name)
+                    : summary.putObject(name);
+            JsonNode primary = run.path("primaryMetric");
+            String mode = run.path("mode").asText();
+            if (mode.equals(THROUGHPUT)) {
+                // JMH отдаёт ops/us (общая единица времени для обоих режимов), приводим к ops/s
+                metrics.put(THROUGHPUT, primary.path("score").asDouble() * 1_000_000);
+                JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION);
+                if (!allocation.isMissingNode()) {
+                    metrics.put(ALLOCATION, allocation.path("score").asDouble());
+                }
+            } else if (mode.equals("sample")) {
+                metrics.put(P99, primary.path("scorePercentiles").path("99.0").asDouble());
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * @return имя бенчмарка; для бенчмарков с @Param - с значениями параметров: CreditBenchmark.rejectedScoring:mode=FAIL_FAST
+     */
+    private static String name(JsonNode run) {
+        StringBuilder name = new StringBuilder(run.path("benchmark").asText());
+        Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+        char separator = ':';
+        while (params.hasNext()) {
+            Map.Entry<String, JsonNode> param = params.next();
+            name.append(separator).append(param.getKey()).append('=').append(param.getValue().asText());
+            separator = ',';
+        }
+        return name.toString();
+    }
+}
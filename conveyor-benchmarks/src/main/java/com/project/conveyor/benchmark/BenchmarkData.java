@@ -0,0 +1,154 @@
+package com.project.conveyor.benchmark;
+
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.LoanApplicationRequestDTO;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Генератор входных данных для бенчмарков.
+ * Распределения приближены к боевому трафику: срок от 6 до 360 месяцев (с перекосом в сторону
+ * "круглых" сроков), сумма от 10 тыс. до 50 млн. (лог-равномерно), даты первого платежа
+ * с упором на границы високосных годов.
+ */
+public final class BenchmarkData {
+
+    public static final int SIZE = 1024;
+
+    private static final int[] COMMON_TERMS = {6, 12, 18, 24, 36, 48, 60, 84, 120, 180, 240, 300, 360};
+
+    private static final LocalDate[] BOUNDARY_DATES = {
+            LocalDate.of(2023, 12, 31),
+            LocalDate.of(2024, 1, 1),
+            LocalDate.of(2024, 1, 31),
+            LocalDate.of(2024, 2, 29),
+            LocalDate.of(2027, 12, 15),
+            LocalDate.of(2028, 2, 29)
+    };
+
+    private static final double MIN_AMOUNT = 10_000;
+    private static final double MAX_AMOUNT = 50_000_000;
+
+    private BenchmarkData() {
+    }
+
+    public static int[] terms(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] terms = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            terms[i] = term(random);
+        }
+        return terms;
+    }
+
+    public static BigDecimal[] amounts(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        BigDecimal[] amounts = new BigDecimal[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            amounts[i] = amount(random);
+        }
+        return amounts;
+    }
+
+    public static LocalDate[] firstPaymentDates(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDate[] dates = new LocalDate[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            dates[i] = random.nextInt(4) == 0
+                    ? BOUNDARY_DATES[random.nextInt(BOUNDARY_DATES.length)]
+                    : LocalDate.of(2023, 1, 1).plusDays(random.nextInt(8 * 365));
+        }
+        return dates;
+    }
+
+    public static LoanApplicationRequestDTO[] loanApplications(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        LoanApplicationRequestDTO[] requests = new LoanApplicationRequestDTO[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            requests[i] = new LoanApplicationRequestDTO(
+                    amount(random),
+                    term(random),
+                    "Ivan",
+                    "Ivanov",
+                    "Ivanovich",
+                    "ivan.ivanov" + i + "@mail.ru",
+                    birthdate(random),
+                    String.format("%04d", random.nextInt(10_000)),
+                    String.format("%06d", random.nextInt(1_000_000))
+            );
+        }
+        return requests;
+    }
+
+    /**
+     * Анкеты, проходящие скоринг: зарплата всегда покрывает запрошенную сумму,
+     * остальные поля перебирают все ветки расчёта ставки.
+     */
+    public static ScoringDataDTO[] scoringData(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ScoringDataDTO[] requests = new ScoringDataDTO[SIZE];
+        EmploymentStatus[] employmentStatuses = {EmploymentStatus.SELF_EMPLOYED, EmploymentStatus.BUSINESS_OWNER};
+        Gender[] genders = Gender.values();
+        MaritalStatus[] maritalStatuses = MaritalStatus.values();
+        Position[] positions = Position.values();
+        for (int i = 0; i < SIZE; i++) {
+            BigDecimal amount = amount(random);
+            BigDecimal salary = amount.divide(BigDecimal.valueOf(15), 2, RoundingMode.HALF_EVEN);
+            EmploymentDTO employment = new EmploymentDTO(
+                    employmentStatuses[random.nextInt(employmentStatuses.length)],
+                    "7707083893",
+                    salary,
+                    positions[random.nextInt(positions.length)],
+                    12 + random.nextInt(300),
+                    4 + random.nextInt(120)
+            );
+            requests[i] = new ScoringDataDTO(
+                    amount,
+                    term(random),
+                    "Ivan",
+                    "Ivanov",
+                    "Ivanovich",
+                    genders[random.nextInt(genders.length)],
+                    LocalDate.now().minusYears(21 + random.nextInt(39)).minusDays(random.nextInt(365)),
+                    String.format("%04d", random.nextInt(10_000)),
+                    String.format("%06d", random.nextInt(1_000_000)),
+                    LocalDate.of(2015, 5, 20),
+                    "MVD",
+                    maritalStatuses[random.nextInt(maritalStatuses.length)],
+                    random.nextInt(4),
+                    employment,
+                    "40817810099910004312",
+                    random.nextBoolean(),
+                    random.nextBoolean()
+            );
+        }
+        return requests;
+    }
+
+    private static int term(SplittableRandom random) {
+        return random.nextInt(3) == 0
+                ? 6 + random.nextInt(355)
+                : COMMON_TERMS[random.nextInt(COMMON_TERMS.length)];
+    }
+
+    private static BigDecimal amount(SplittableRandom random) {
+        double amount = Math.exp(Math.log(MIN_AMOUNT) + random.nextDouble() * (Math.log(MAX_AMOUNT) - Math.log(MIN_AMOUNT)));
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    private static LocalDate birthdate(SplittableRandom random) {
+        // Часть дат рождения приходится на 29 февраля
+        if (random.nextInt(16) == 0) {
+            return LocalDate.of(1980 + 4 * random.nextInt(6), 2, 29);
+        }
+        return LocalDate.now().minusYears(18 + random.nextInt(50)).minusDays(random.nextInt(365));
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.conveyor.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Запуск бенчмарков и сравнение результатов с базовой линией.
+ * Аргументы: регулярное выражение для отбора бенчмарков, путь к файлу результатов JMH,
+ * путь к файлу базовой линии и необязательный флаг --update-baseline.
+ * Измеряются пропускная способность (ops/s), распределение задержек (p99) и объём выделенной памяти
+ * на операцию (gc.alloc.rate.norm). При регрессии относительно базовой линии процесс завершается с кодом 1.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 ? args[0] : ".*";
+        Path result = Path.of(args.length > 1 ? args[1] : "target/jmh-result.json");
+        Path baseline = Path.of(args.length > 2 ? args[2] : "baseline.json");
+        boolean updateBaseline = args.length > 3 && args[3].equals("--update-baseline");
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .mode(Mode.Throughput)
+                .mode(Mode.SampleTime)
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+
+        if (updateBaseline) {
+            BaselineComparator.writeBaseline(result, baseline);
+            System.out.println("Baseline updated: " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("Baseline " + baseline + " not found, comparison skipped");
+            return;
+        }
+
+        List<String> regressions = BaselineComparator.compare(result, baseline);
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions against " + baseline);
+            return;
+        }
+        regressions.forEach(System.out::println);
+        System.exit(1);
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.conveyor.benchmark;
+
+import com.project.conveyor.ConveyorApplication;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Контекст приложения без веб-сервера, общий для всех потоков бенчмарка.
+ * Конфигурация берётся из application.yml основного модуля; прогрев приложения отключён - бенчмарки прогреваются JMH.
+ */
+@State(Scope.Benchmark)
+public class ConveyorContext {
+
+    private ConfigurableApplicationContext context;
+
+    @Setup
+    public void start() {
+        context = new SpringApplicationBuilder(ConveyorApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--logging.level.root=WARN", "--warm-up.enabled=false");
+    }
+
+    @TearDown
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+}
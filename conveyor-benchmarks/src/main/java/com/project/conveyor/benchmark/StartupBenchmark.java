@@ -0,0 +1,132 @@
+package com.project.conveyor.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Время старта приложения: от запуска JVM до готовности (строка "Time to ready" StartupTimeReporter).
+ * Сравниваются обычный исполняемый jar и сборка mvn package -Pfast-startup (jar с lib/, архив AppCDS,
+ * профиль Spring fast-startup); каждая запускается несколько раз с startup.exitOnReady: true,
+ * в результат попадает медиана. Прогрев JIT (warm-up) не входит в измеряемое время.
+ * Варианты, для которых нет собранных файлов, пропускаются.
+ * Аргументы: каталог target основного модуля, его finalName (из pom.xml: conveyor-${conveyor.version}),
+ * число запусков, путь к файлу результатов, путь к файлу базовой линии и необязательный флаг --update-baseline.
+ * При регрессии относительно базовой линии процесс завершается с кодом 1.
+ */
+public final class StartupBenchmark {
+
+    static final String TIME_TO_READY = "ready.ms";
+
+    private static final Pattern READY_LINE = Pattern.compile("Time to ready: (\\d+) ms");
+    private static final String CDS_ARCHIVE = "app/conveyor.jsa";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: StartupBenchmark <target> <finalName> [runs] [result] [baseline] [--update-baseline]");
+        }
+        Path target = Path.of(args[0]).toAbsolutePath().normalize();
+        String jar = args[1] + ".jar";
+        String appJar = "app/" + args[1] + "-app.jar";
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        Path result = Path.of(args.length > 3 ? args[3] : "target/startup-result.json");
+        Path baseline = Path.of(args.length > 4 ? args[4] : "startup-baseline.json");
+        boolean updateBaseline = args.length > 5 && args[5].equals("--update-baseline");
+
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        ObjectNode summary = mapper.createObjectNode();
+
+        if (Files.exists(target.resolve(jar))) {
+            summary.putObject("startup.default").put(TIME_TO_READY,
+                    median(target, runs, List.of(java, "-jar", target.resolve(jar).toString())));
+        }
+        if (Files.exists(target.resolve(appJar)) && Files.exists(target.resolve(CDS_ARCHIVE))) {
+            summary.putObject("startup.fast-startup").put(TIME_TO_READY,
+                    median(target, runs, List.of(java,
+                            "-XX:SharedArchiveFile=" + target.resolve(CDS_ARCHIVE),
+                            "-Xlog:cds=off",
+                            "-jar", target.resolve(appJar).toString(),
+                            "--spring.profiles.active=fast-startup")));
+        }
+        if (summary.isEmpty()) {
+            throw new IllegalStateException("No application jars in " + target);
+        }
+
+        Files.createDirectories(result.toAbsolutePath().getParent());
+        mapper.writeValue(result.toFile(), summary);
+        System.out.println(summary.toPrettyString());
+
+        if (updateBaseline) {
+            BaselineComparator.writeBaseline(summary, baseline);
+            System.out.println("Baseline updated: " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            System.out.println("Baseline " + baseline + " not found, comparison skipped");
+            return;
+        }
+
+        List<String> regressions = BaselineComparator.compare(summary, baseline);
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions against " + baseline);
+            return;
+        }
+        regressions.forEach(System.out::println);
+        System.exit(1);
+    }
+
+    private static long median(Path target, int runs, List<String> command) throws IOException, InterruptedException {
+        long[] times = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            times[i] = timeToReady(target, command);
+        }
+        System.out.println(String.join(" ", command) + ": " + Arrays.toString(times) + " ms");
+        Arrays.sort(times);
+        return times[runs / 2];
+    }
+
+    private static long timeToReady(Path target, List<String> command) throws IOException, InterruptedException {
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=0");
+        arguments.add("--startup.exitOnReady=true");
+        arguments.add("--warm-up.enabled=false");
+        arguments.add("--logging.level.root=WARN");
+        arguments.add("--logging.level.com.project.conveyor.metrics.StartupTimeReporter=INFO");
+        Process process = new ProcessBuilder(arguments)
+                .directory(target.toFile())
+                .redirectErrorStream(true)
+                .start();
+
+        Long timeToReady = null;
+        try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                Matcher matcher = READY_LINE.matcher(line);
+                if (matcher.find()) {
+                    timeToReady = Long.parseLong(matcher.group(1));
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        if (timeToReady == null) {
+            throw new IllegalStateException("Application did not report readiness, exit code " + exitCode);
+        }
+        return timeToReady;
+    }
+}
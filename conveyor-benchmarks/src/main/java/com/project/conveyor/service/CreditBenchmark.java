@@ -0,0 +1,189 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.benchmark.BenchmarkData;
+import com.project.conveyor.benchmark.ConveyorContext;
+import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.PaymentScheduleElement;
+import com.project.conveyor.exception.ScoringException;
+import com.project.conveyor.model.PrepaymentRequestDTO;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.PrepaymentType;
+import com.project.conveyor.model.enums.ScoringMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Бенчмарки расчёта параметров кредита (/conveyor/calculation).
+ */
+public class CreditBenchmark {
+
+    @State(Scope.Thread)
+    public static class Input {
+        ConveyorServiceImpl service;
+        ConveyorSettings settings;
+        ScoringDataDTO[] requests;
+        BigDecimal[] amounts;
+        BigDecimal[] monthlyPayments;
+        /** Ограничение платежа для calculationMaxAmount - четверть суммы заявки */
+        BigDecimal[] maxMonthlyPayments;
+        int[] terms;
+        LocalDate[] dates;
+        int index;
+
+        @Setup
+        public void setUp(ConveyorContext context) {
+            service = context.getBean(ConveyorServiceImpl.class);
+            settings = context.getBean(ConveyorSettingsHolder.class).get();
+            requests = BenchmarkData.scoringData(4);
+            amounts = BenchmarkData.amounts(5);
+            terms = BenchmarkData.terms(6);
+            dates = BenchmarkData.firstPaymentDates(7);
+            monthlyPayments = new BigDecimal[BenchmarkData.SIZE];
+            maxMonthlyPayments = new BigDecimal[BenchmarkData.SIZE];
+            for (int i = 0; i < BenchmarkData.SIZE; i++) {
+                maxMonthlyPayments[i] = requests[i].getAmount().divide(BigDecimal.valueOf(4), 2, RoundingMode.HALF_EVEN);
+                // Платёж по ставке 20% годовых, как в createCreditDTO
+                BigDecimal monthlyRate = BigDecimal.valueOf(20).divide(BigDecimal.valueOf(1200), 20, RoundingMode.HALF_EVEN);
+                BigDecimal brackets = monthlyRate.add(BigDecimal.ONE).pow(terms[i]);
+                BigDecimal annuityRatio = monthlyRate.multiply(brackets)
+                        .divide(brackets.subtract(BigDecimal.ONE), 20, RoundingMode.HALF_EVEN);
+                monthlyPayments[i] = amounts[i].multiply(annuityRatio).setScale(2, RoundingMode.HALF_EVEN);
+            }
+        }
+
+        int next() {
+            index = (index + 1) & (BenchmarkData.SIZE - 1);
+            return index;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RejectedInput {
+        @Param({"ALL_REASONS", "FAIL_FAST"})
+        ScoringMode mode;
+
+        ConveyorServiceImpl service;
+        ConveyorSettings settings;
+        ScoringDataDTO[] requests;
+        int index;
+
+        @Setup
+        public void setUp(ConveyorContext context) {
+            service = context.getBean(ConveyorServiceImpl.class);
+            settings = context.getBean(ConveyorSettingsHolder.class).get();
+            // Заявки с недостаточным текущим стажем и суммой больше 20 зарплат - отказ на скоринге
+            requests = BenchmarkData.scoringData(8);
+            for (ScoringDataDTO request : requests) {
+                request.getEmployment().setWorkExperienceCurrent(1);
+                request.getEmployment().setSalary(BigDecimal.valueOf(100));
+            }
+        }
+
+        int next() {
+            index = (index + 1) & (BenchmarkData.SIZE - 1);
+            return index;
+        }
+    }
+
+    /**
+     * Досрочное погашение в середине срока: 10% остатка долга после платежа term / 2
+     */
+    @State(Scope.Thread)
+    public static class PrepaymentInput {
+        @Param({"REDUCE_TERM", "REDUCE_PAYMENT"})
+        PrepaymentType type;
+
+        ConveyorServiceImpl service;
+        PrepaymentRequestDTO[] requests;
+        int index;
+
+        @Setup
+        public void setUp(ConveyorContext context) {
+            service = context.getBean(ConveyorServiceImpl.class);
+            ScoringDataDTO[] scoringData = BenchmarkData.scoringData(9);
+            requests = new PrepaymentRequestDTO[BenchmarkData.SIZE];
+            for (int i = 0; i < BenchmarkData.SIZE; i++) {
+                CreditDTO credit = service.calculationLoanParams(scoringData[i], ScoringMode.ALL_REASONS);
+                int paymentNumber = credit.getTerm() / 2;
+                BigDecimal remainingDebt = credit.getPaymentSchedule().get(paymentNumber - 1).getRemainingDebt();
+                requests[i] = new PrepaymentRequestDTO(credit,
+                        paymentNumber,
+                        remainingDebt.divide(BigDecimal.TEN, 2, RoundingMode.HALF_EVEN),
+                        type);
+            }
+        }
+
+        int next() {
+            index = (index + 1) & (BenchmarkData.SIZE - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    public CreditDTO calculationLoanParams(Input input) {
+        return input.service.calculationLoanParams(input.requests[input.next()], ScoringMode.ALL_REASONS);
+    }
+
+    /**
+     * Один вызов вместо подбора суммы запросами calculationLoanParams: на коротких сроках сумму
+     * ограничивает зарплата, на длинных - платёж
+     */
+    @Benchmark
+    public CreditDTO calculationMaxAmount(Input input) {
+        int i = input.next();
+        return input.service.calculationMaxAmount(input.requests[i], input.maxMonthlyPayments[i], ScoringMode.ALL_REASONS);
+    }
+
+    @Benchmark
+    public ScoringDataDTO scoring(Input input) {
+        ScoringDataDTO request = input.requests[input.next()];
+        input.service.scoring(request, input.settings, ScoringMode.ALL_REASONS);
+        return request;
+    }
+
+    @Benchmark
+    public List<PaymentScheduleElement> paymentScheduleCalculation(Input input) {
+        int i = input.next();
+        return input.service.paymentScheduleCalculation(input.amounts[i],
+                BigDecimal.valueOf(20.0),
+                input.terms[i],
+                input.monthlyPayments[i],
+                input.dates[i]);
+    }
+
+    @Benchmark
+    public CreditDTO calculationPrepayment(PrepaymentInput input) {
+        return input.service.calculationPrepayment(input.requests[input.next()]);
+    }
+
+    /**
+     * Для сравнения с calculationPrepayment: расчёт графика того же кредита целиком
+     */
+    @Benchmark
+    public List<PaymentScheduleElement> prepaymentFullSchedule(PrepaymentInput input) {
+        CreditDTO credit = input.requests[input.next()].getCredit();
+        return input.service.paymentScheduleCalculation(credit.getAmount(),
+                credit.getRate(),
+                credit.getTerm(),
+                credit.getMonthlyPayment(),
+                credit.getPaymentSchedule().get(0).getDate());
+    }
+
+    @Benchmark
+    public ScoringException rejectedScoring(RejectedInput input) {
+        try {
+            input.service.scoring(input.requests[input.next()], input.settings, input.mode);
+        } catch (ScoringException e) {
+            return e;
+        }
+        throw new IllegalStateException("Application was not rejected");
+    }
+}
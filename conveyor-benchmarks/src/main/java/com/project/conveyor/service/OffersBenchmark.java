@@ -0,0 +1,96 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.benchmark.BenchmarkData;
+import com.project.conveyor.benchmark.ConveyorContext;
+import com.project.conveyor.exception.PrescoringException;
+import com.project.conveyor.model.LoanApplicationRequestDTO;
+import com.project.conveyor.model.LoanOfferDTO;
+import com.project.conveyor.model.LoanOfferGridRequestDTO;
+import com.project.conveyor.model.LoanOfferGridRowDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Бенчмарки расчёта кредитных предложений (/conveyor/offers).
+ */
+public class OffersBenchmark {
+
+    @State(Scope.Thread)
+    public static class Input {
+        ConveyorServiceImpl service;
+        ConveyorSettings settings;
+        LoanApplicationRequestDTO[] requests;
+        LoanApplicationRequestDTO[] rejectedRequests;
+        BigDecimal[] amounts;
+        int[] terms;
+        LoanOfferGridRequestDTO[] grids;
+        int index;
+
+        @Setup
+        public void setUp(ConveyorContext context) {
+            service = context.getBean(ConveyorServiceImpl.class);
+            settings = context.getBean(ConveyorSettingsHolder.class).get();
+            requests = BenchmarkData.loanApplications(1);
+            // Заявки с суммой ниже минимальной - отказ на прескоринге
+            rejectedRequests = BenchmarkData.loanApplications(4);
+            for (LoanApplicationRequestDTO request : rejectedRequests) {
+                request.setAmount(BigDecimal.valueOf(5_000));
+            }
+            amounts = BenchmarkData.amounts(2);
+            terms = BenchmarkData.terms(3);
+            // Сетка 10 сумм x 12 сроков, как на странице сравнения предложений
+            grids = new LoanOfferGridRequestDTO[BenchmarkData.SIZE];
+            for (int i = 0; i < BenchmarkData.SIZE; i++) {
+                grids[i] = new LoanOfferGridRequestDTO(amounts[i],
+                        amounts[i].add(BigDecimal.valueOf(90_000)),
+                        BigDecimal.valueOf(10_000),
+                        12,
+                        144,
+                        12);
+            }
+        }
+
+        int next() {
+            index = (index + 1) & (BenchmarkData.SIZE - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    public List<LoanOfferDTO> getLoanOffers(Input input) {
+        return input.service.getLoanOffers(input.requests[input.next()]);
+    }
+
+    @Benchmark
+    public List<LoanOfferGridRowDTO> getLoanOfferGrid(Input input) {
+        return input.service.getLoanOfferGrid(input.grids[input.next()]);
+    }
+
+    @Benchmark
+    public LoanOfferDTO createLoanOfferDTO(Input input) {
+        int i = input.next();
+        return input.service.createLoanOfferDTO(input.settings, 1L, input.amounts[i], input.terms[i], (i & 1) == 0, (i & 2) == 0);
+    }
+
+    @Benchmark
+    public LoanApplicationRequestDTO prescoring(Input input) {
+        LoanApplicationRequestDTO request = input.requests[input.next()];
+        input.service.prescoring(request, input.settings);
+        return request;
+    }
+
+    @Benchmark
+    public PrescoringException rejectedPrescoring(Input input) {
+        try {
+            input.service.getLoanOffers(input.rejectedRequests[input.next()]);
+        } catch (PrescoringException e) {
+            return e;
+        }
+        throw new IllegalStateException("Application was not rejected");
+    }
+}
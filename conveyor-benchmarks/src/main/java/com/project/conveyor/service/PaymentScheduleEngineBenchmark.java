@@ -0,0 +1,74 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.benchmark.BenchmarkData;
+import com.project.conveyor.config.ScheduleConfiguration;
+import com.project.conveyor.model.PaymentScheduleElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+/**
+ * Сравнение способов расчёта графика платежей (schedule.engine).
+ */
+public class PaymentScheduleEngineBenchmark {
+
+    @State(Scope.Thread)
+    public static class Input {
+        @Param({"big-decimal", "fixed-point", "template"})
+        String engine;
+
+        PaymentScheduleEngine paymentScheduleEngine;
+        BigDecimal[] amounts;
+        BigDecimal[] monthlyPayments;
+        int[] terms;
+        LocalDate[] dates;
+        int index;
+
+        @Setup
+        public void setUp() {
+            DayCountTable dayCountTable = new DayCountTable(DayCountConvention.ACT_ACT, LocalDate.now().withDayOfYear(1), 40);
+            paymentScheduleEngine = switch (engine) {
+                case "fixed-point" -> new FixedPointPaymentScheduleEngine(dayCountTable);
+                case "template" -> new TemplatePaymentScheduleEngine(dayCountTable, new ScheduleConfiguration());
+                default -> new BigDecimalPaymentScheduleEngine(dayCountTable);
+            };
+            amounts = BenchmarkData.amounts(5);
+            terms = BenchmarkData.terms(6);
+            dates = BenchmarkData.firstPaymentDates(7);
+            monthlyPayments = new BigDecimal[BenchmarkData.SIZE];
+            for (int i = 0; i < BenchmarkData.SIZE; i++) {
+                BigDecimal monthlyRate = BigDecimal.valueOf(20).divide(BigDecimal.valueOf(1200), 20, RoundingMode.HALF_EVEN);
+                BigDecimal brackets = monthlyRate.add(BigDecimal.ONE).pow(terms[i]);
+                BigDecimal annuityRatio = monthlyRate.multiply(brackets)
+                        .divide(brackets.subtract(BigDecimal.ONE), 20, RoundingMode.HALF_EVEN);
+                monthlyPayments[i] = amounts[i].multiply(annuityRatio).setScale(2, RoundingMode.HALF_EVEN);
+            }
+        }
+
+        int next() {
+            index = (index + 1) & (BenchmarkData.SIZE - 1);
+            return index;
+        }
+    }
+
+    @Benchmark
+    public void schedule(Input input, Blackhole blackhole) {
+        int i = input.next();
+        Iterator<PaymentScheduleElement> schedule = input.paymentScheduleEngine.schedule(input.amounts[i],
+                BigDecimal.valueOf(20.0),
+                input.terms[i],
+                input.monthlyPayments[i],
+                input.dates[i]);
+        while (schedule.hasNext()) {
+            blackhole.consume(schedule.next());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.project.conveyor.loadtest;
+
+/**
+ * Нагружаемые точки входа конвейера
+ */
+enum Endpoint {
+    OFFERS("offers", "/conveyor/offers", "application/json"),
+    CALCULATION("calculation", "/conveyor/calculation", "application/json"),
+    /** Тот же расчёт с построчной выдачей графика */
+    CALCULATION_STREAM("calculation-stream", "/conveyor/calculation", "application/x-ndjson");
+
+    final String name;
+    final String path;
+    final String accept;
+
+    Endpoint(String name, String path, String accept) {
+        this.name = name;
+        this.path = path;
+        this.accept = accept;
+    }
+
+    static Endpoint byName(String name) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.name.equals(name)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + name);
+    }
+}
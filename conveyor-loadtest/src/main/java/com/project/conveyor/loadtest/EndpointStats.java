@@ -0,0 +1,82 @@
+package com.project.conveyor.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Результаты по одной точке входа. Задержка отсчитывается от запланированного момента отправки,
+ * а не от фактического, поэтому очередь на стороне клиента или сервера не скрывает медленные ответы
+ * (coordinated omission).
+ */
+final class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Recorder latencies = new Recorder(MAX_LATENCY_MICROS, 3);
+    /** 2xx */
+    private final LongAdder ok = new LongAdder();
+    /** 400 - отказ прескоринга или скоринга */
+    private final LongAdder rejected = new LongAdder();
+    /** 503 - превышен execution.maxConcurrentRequests */
+    private final LongAdder overloaded = new LongAdder();
+    /** Прочие коды ответа и ошибки соединения */
+    private final LongAdder errors = new LongAdder();
+    /** Ответ не совпал с ожидаемым: отказ для корректной заявки или 2xx для некорректной */
+    private final LongAdder unexpected = new LongAdder();
+
+    void record(long latencyNanos, int status, boolean expectRejection) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        if (status >= 200 && status < 300) {
+            ok.increment();
+            if (expectRejection) {
+                unexpected.increment();
+            }
+        } else if (status == 400) {
+            rejected.increment();
+            if (!expectRejection) {
+                unexpected.increment();
+            }
+        } else if (status == 503) {
+            overloaded.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    void recordError(long latencyNanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        errors.increment();
+    }
+
+    /**
+     * @param seconds длительность замера
+     */
+    Map<String, Object> summary(double seconds) {
+        Histogram histogram = latencies.getIntervalHistogram();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("throughput", histogram.getTotalCount() / seconds);
+        summary.put("ok", ok.sum());
+        summary.put("rejected", rejected.sum());
+        summary.put("overloaded", overloaded.sum());
+        summary.put("errors", errors.sum());
+        summary.put("unexpected", unexpected.sum());
+        Map<String, Double> latencyMillis = new LinkedHashMap<>();
+        latencyMillis.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latencyMillis.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latencyMillis.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latencyMillis.put("p99.9", millis(histogram.getValueAtPercentile(99.9)));
+        latencyMillis.put("max", millis(histogram.getMaxValue()));
+        summary.put("latencyMillis", latencyMillis);
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.project.conveyor.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного теста, задаются системными свойствами loadtest.*:
+ * <ul>
+ *     <li>baseUrl - адрес запущенного конвейера</li>
+ *     <li>rate - целевая интенсивность, запросов в секунду (по всем точкам входа)</li>
+ *     <li>duration, warmup - длительность замера и разогрева (ISO-8601, например PT1M)</li>
+ *     <li>mix - доли точек входа, например offers:60,calculation:30,calculation-stream:10</li>
+ *     <li>invalidShare - доля заявок, которые должны получить отказ (400)</li>
+ *     <li>maxInFlight - предел одновременно ожидающих ответа запросов</li>
+ *     <li>seed - зерно генератора заявок</li>
+ *     <li>result - путь к JSON-отчёту</li>
+ * </ul>
+ */
+record LoadTestOptions(URI baseUrl,
+                       int rate,
+                       Duration duration,
+                       Duration warmup,
+                       Map<Endpoint, Integer> mix,
+                       double invalidShare,
+                       int maxInFlight,
+                       long seed,
+                       Path result) {
+
+    static LoadTestOptions fromSystemProperties() {
+        LoadTestOptions options = new LoadTestOptions(
+                URI.create(System.getProperty("loadtest.baseUrl", "http://localhost:8080")),
+                Integer.parseInt(System.getProperty("loadtest.rate", "100")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT1M")),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                parseMix(System.getProperty("loadtest.mix", "offers:60,calculation:30,calculation-stream:10")),
+                Double.parseDouble(System.getProperty("loadtest.invalidShare", "0.15")),
+                Integer.parseInt(System.getProperty("loadtest.maxInFlight", "1000")),
+                Long.parseLong(System.getProperty("loadtest.seed", "42")),
+                Path.of(System.getProperty("loadtest.result", "target/loadtest-result.json")));
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive: " + options.rate);
+        }
+        if (options.invalidShare < 0 || options.invalidShare > 1) {
+            throw new IllegalArgumentException("loadtest.invalidShare must be between 0 and 1: " + options.invalidShare);
+        }
+        if (options.maxInFlight <= 0) {
+            throw new IllegalArgumentException("loadtest.maxInFlight must be positive: " + options.maxInFlight);
+        }
+        return options;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: " + part);
+            }
+            int weight = Integer.parseInt(nameAndWeight[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in loadtest.mix: " + part);
+            }
+            if (weight > 0) {
+                weights.put(Endpoint.byName(nameAndWeight[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix has no endpoints: " + mix);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,156 @@
+package com.project.conveyor.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.conveyor.loadtest.RequestGenerator.GeneratedRequest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Нагрузочный тест запущенного конвейера (параметры - см. LoadTestOptions).
+ * Нагрузка открытая: запросы отправляются с заданной интенсивностью независимо от того, успел ли
+ * сервер ответить на предыдущие, как это происходит при обращениях из нескольких сервисов.
+ * Результаты разогрева отбрасываются. По каждой точке входа выводятся пропускная способность,
+ * распределение ответов и перцентили задержки; тот же отчёт пишется в JSON (loadtest.result).
+ * Процесс завершается с кодом 1, если ответы расходятся с ожидаемыми (unexpected > 0).
+ */
+public final class LoadTestRunner {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+        RequestGenerator generator = new RequestGenerator(options.mix(), options.invalidShare(), options.seed());
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        options.mix().keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+
+        System.out.printf("Load test: %s, %d req/s, warmup %s, duration %s, mix %s, invalid %.0f%%%n",
+                options.baseUrl(), options.rate(), options.warmup(), options.duration(), options.mix(),
+                options.invalidShare() * 100);
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        long maxSendLagNanos = 0;
+
+        for (long k = 0; ; k++) {
+            long intended = start + k * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            if (intended >= measureFrom) {
+                maxSendLagNanos = Math.max(maxSendLagNanos, now - intended);
+            }
+            inFlight.acquire();
+            send(client, options, generator.next(), intended, intended >= measureFrom, stats, inFlight);
+        }
+
+        if (!inFlight.tryAcquire(options.maxInFlight(), REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            System.out.println("Some requests did not complete within " + REQUEST_TIMEOUT);
+        }
+        executor.shutdownNow();
+
+        report(options, stats, maxSendLagNanos);
+    }
+
+    private static void send(HttpClient client,
+                             LoadTestOptions options,
+                             GeneratedRequest generated,
+                             long intended,
+                             boolean measured,
+                             Map<Endpoint, EndpointStats> stats,
+                             Semaphore inFlight) {
+        Endpoint endpoint = generated.endpoint();
+        HttpRequest request = HttpRequest.newBuilder(options.baseUrl().resolve(endpoint.path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", endpoint.accept)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(generated.body()))
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    try {
+                        if (measured) {
+                            long latency = System.nanoTime() - intended;
+                            if (error != null) {
+                                stats.get(endpoint).recordError(latency);
+                            } else {
+                                stats.get(endpoint).record(latency, response.statusCode(), generated.expectRejection());
+                            }
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    private static void report(LoadTestOptions options, Map<Endpoint, EndpointStats> stats, long maxSendLagNanos)
+            throws IOException {
+        double seconds = options.duration().toNanos() / 1e9;
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long unexpected = 0;
+
+        System.out.printf("%-20s %9s %9s %8s %8s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "ok", "400", "503", "errors", "unexp.",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Map<String, Object> summary = entry.getValue().summary(seconds);
+            endpoints.put(entry.getKey().name, summary);
+            @SuppressWarnings("unchecked")
+            Map<String, Double> latency = (Map<String, Double>) summary.get("latencyMillis");
+            System.out.printf("%-20s %9d %9.1f %8d %8d %8d %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().name, summary.get("requests"), summary.get("throughput"),
+                    summary.get("ok"), summary.get("rejected"), summary.get("overloaded"),
+                    summary.get("errors"), summary.get("unexpected"),
+                    latency.get("p50"), latency.get("p90"), latency.get("p99"), latency.get("p99.9"), latency.get("max"));
+            unexpected += (Long) summary.get("unexpected");
+        }
+        double maxSendLagMillis = maxSendLagNanos / 1e6;
+        System.out.printf("Max send lag: %.2f ms%n", maxSendLagMillis);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("baseUrl", options.baseUrl().toString());
+        result.put("targetRate", options.rate());
+        result.put("durationSeconds", seconds);
+        result.put("invalidShare", options.invalidShare());
+        result.put("maxSendLagMillis", maxSendLagMillis);
+        result.put("endpoints", endpoints);
+        Files.createDirectories(options.result().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.result().toFile(), result);
+        System.out.println("Result: " + options.result());
+
+        if (unexpected > 0) {
+            System.out.println(unexpected + " responses did not match the expected outcome");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.project.conveyor.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.LoanApplicationRequestDTO;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Генератор заявок, приближенных к боевому трафику. Заявки генерируются заранее (POOL_SIZE штук)
+ * и выдаются по кругу, чтобы генерация и сериализация не ограничивали интенсивность нагрузки.
+ * <p>
+ * Срок - от 6 до 360 месяцев с перекосом в сторону "круглых" сроков, сумма - от 10 тыс. до 50 млн.
+ * лог-равномерно. Доля invalidShare заявок содержит одну ошибку, из-за которой конвейер отвечает 400:
+ * для /conveyor/offers - ошибку прескоринга (PrescoringException), для расчёта кредита - причину
+ * отказа в скоринге (ScoringException).
+ */
+final class RequestGenerator {
+
+    static final int POOL_SIZE = 8192;
+
+    private static final int[] COMMON_TERMS = {6, 12, 18, 24, 36, 48, 60, 84, 120, 180, 240, 300, 360};
+    private static final double MIN_AMOUNT = 10_000;
+    private static final double MAX_AMOUNT = 50_000_000;
+
+    private final List<GeneratedRequest> pool;
+    private int next;
+
+    /**
+     * @param expectRejection заявка должна получить отказ (400)
+     */
+    record GeneratedRequest(Endpoint endpoint, byte[] body, boolean expectRejection) {
+    }
+
+    RequestGenerator(Map<Endpoint, Integer> mix, double invalidShare, long seed) {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        SplittableRandom random = new SplittableRandom(seed);
+        Endpoint[] endpoints = mix.keySet().toArray(new Endpoint[0]);
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        this.pool = new ArrayList<>(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            Endpoint endpoint = pick(endpoints, mix, totalWeight, random);
+            boolean invalid = random.nextDouble() < invalidShare;
+            Object request = endpoint == Endpoint.OFFERS
+                    ? loanApplication(random, i, invalid)
+                    : scoringData(random, invalid);
+            try {
+                pool.add(new GeneratedRequest(endpoint, objectMapper.writeValueAsBytes(request), invalid));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Вызывается из одного потока - планировщика запросов
+     */
+    GeneratedRequest next() {
+        GeneratedRequest request = pool.get(next);
+        next = (next + 1) % POOL_SIZE;
+        return request;
+    }
+
+    private static Endpoint pick(Endpoint[] endpoints, Map<Endpoint, Integer> mix, int totalWeight, SplittableRandom random) {
+        int value = random.nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            value -= mix.get(endpoint);
+            if (value < 0) {
+                return endpoint;
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private static LoanApplicationRequestDTO loanApplication(SplittableRandom random, int i, boolean invalid) {
+        LoanApplicationRequestDTO request = new LoanApplicationRequestDTO(
+                amount(random),
+                term(random),
+                "Ivan",
+                "Ivanov",
+                "Ivanovich",
+                "ivan.ivanov" + i + "@mail.ru",
+                LocalDate.now().minusYears(18 + random.nextInt(50)).minusDays(random.nextInt(365)),
+                String.format("%04d", random.nextInt(10_000)),
+                String.format("%06d", random.nextInt(1_000_000))
+        );
+        if (invalid) {
+            switch (random.nextInt(5)) {
+                case 0 -> request.setAmount(BigDecimal.valueOf(1_000 + random.nextInt(9_000)));
+                case 1 -> request.setTerm(1 + random.nextInt(5));
+                case 2 -> request.setEmail("ivan.ivanov" + i + "mail.ru");
+                case 3 -> request.setBirthdate(LocalDate.now().minusYears(10 + random.nextInt(8)));
+                default -> request.setFirstName("I");
+            }
+        }
+        return request;
+    }
+
+    /**
+     * Анкета, проходящая скоринг: зарплата покрывает запрошенную сумму, возраст и стаж в допустимых пределах
+     */
+    private static ScoringDataDTO scoringData(SplittableRandom random, boolean invalid) {
+        EmploymentStatus[] employmentStatuses = {EmploymentStatus.SELF_EMPLOYED, EmploymentStatus.BUSINESS_OWNER};
+        Gender[] genders = Gender.values();
+        MaritalStatus[] maritalStatuses = MaritalStatus.values();
+        Position[] positions = Position.values();
+
+        BigDecimal amount = amount(random);
+        EmploymentDTO employment = new EmploymentDTO(
+                employmentStatuses[random.nextInt(employmentStatuses.length)],
+                "7707083893",
+                amount.divide(BigDecimal.valueOf(5 + random.nextInt(15)), 2, RoundingMode.HALF_EVEN),
+                positions[random.nextInt(positions.length)],
+                12 + random.nextInt(300),
+                4 + random.nextInt(120)
+        );
+        ScoringDataDTO request = new ScoringDataDTO(
+                amount,
+                term(random),
+                "Ivan",
+                "Ivanov",
+                "Ivanovich",
+                genders[random.nextInt(genders.length)],
+                LocalDate.now().minusYears(21 + random.nextInt(39)).minusDays(random.nextInt(365)),
+                String.format("%04d", random.nextInt(10_000)),
+                String.format("%06d", random.nextInt(1_000_000)),
+                LocalDate.of(2015, 5, 20),
+                "MVD",
+                maritalStatuses[random.nextInt(maritalStatuses.length)],
+                random.nextInt(4),
+                employment,
+                "40817810099910004312",
+                random.nextBoolean(),
+                random.nextBoolean()
+        );
+        if (invalid) {
+            switch (random.nextInt(5)) {
+                case 0 -> employment.setEmploymentStatus(EmploymentStatus.UNEMPLOYED);
+                case 1 -> employment.setSalary(amount.divide(BigDecimal.valueOf(25 + random.nextInt(100)), 2, RoundingMode.HALF_EVEN));
+                case 2 -> request.setBirthdate(LocalDate.now().minusYears(61 + random.nextInt(15)));
+                case 3 -> employment.setWorkExperienceTotal(random.nextInt(12));
+                default -> employment.setWorkExperienceCurrent(random.nextInt(4));
+            }
+        }
+        return request;
+    }
+
+    private static int term(SplittableRandom random) {
+        return random.nextInt(3) == 0
+                ? 6 + random.nextInt(355)
+                : COMMON_TERMS[random.nextInt(COMMON_TERMS.length)];
+    }
+
+    private static BigDecimal amount(SplittableRandom random) {
+        double amount = Math.exp(Math.log(MIN_AMOUNT) + random.nextDouble() * (Math.log(MAX_AMOUNT) - Math.log(MIN_AMOUNT)));
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
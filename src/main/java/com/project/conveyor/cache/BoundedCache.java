@@ -0,0 +1,123 @@
+package com.project.conveyor.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Потокобезопасный кэш ограниченного размера с приближённым вытеснением давно не использованных записей
+ * (алгоритм CLOCK) и, при заданном ttl, устаревших записей.
+ * <p>
+ * Чтение не берёт блокировок: запись ищется в ConcurrentHashMap, попадание только отмечает её как
+ * использованную. Вытеснение выполняется при промахе, если размер превышен: «стрелка» обходит записи,
+ * снимает отметку с использованных и удаляет первую неотмеченную или устаревшую. Размер может ненадолго
+ * превысить maxSize на число одновременных промахов.
+ * Значение вычисляется вне блокировки, поэтому при одновременном промахе по одному ключу
+ * оно может быть посчитано несколько раз - это допустимо для чистых функций. Значение не может быть null.
+ */
+public class BoundedCache<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    /** Время жизни записи, 0 - без ограничения */
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    /** Стрелка CLOCK, доступ под блокировкой evictionLock */
+    private final Object evictionLock = new Object();
+    private Iterator<Map.Entry<K, Entry<V>>> hand;
+
+    public BoundedCache(int maxSize) {
+        this(maxSize, Duration.ZERO);
+    }
+
+    public BoundedCache(int maxSize, Duration ttl) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("Cache ttl must not be negative: " + ttl);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !isExpired(entry)) {
+            entry.markUsed();
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        V value = loader.apply(key);
+        entries.put(key, new Entry<>(value, ttlNanos > 0 ? System.nanoTime() : 0));
+        if (entries.size() > maxSize) {
+            evict();
+        }
+        return value;
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            while (entries.size() > maxSize) {
+                if (hand == null || !hand.hasNext()) {
+                    hand = entries.entrySet().iterator();
+                    if (!hand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<K, Entry<V>> candidate = hand.next();
+                Entry<V> entry = candidate.getValue();
+                if (entry.used && !isExpired(entry)) {
+                    entry.used = false;
+                } else {
+                    entries.remove(candidate.getKey(), entry);
+                }
+            }
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return ttlNanos > 0 && System.nanoTime() - entry.loadedAt >= ttlNanos;
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+        private volatile boolean used;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+
+        /**
+         * Запись в общую память только при первом попадании после обхода стрелки
+         */
+        private void markUsed() {
+            if (!used) {
+                used = true;
+            }
+        }
+    }
+}
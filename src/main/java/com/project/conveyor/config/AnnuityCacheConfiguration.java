@@ -0,0 +1,15 @@
+package com.project.conveyor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties("annuity-cache")
+public class AnnuityCacheConfiguration {
+    private int maxSize = 1024;
+    private List<Integer> warmUpTerms = List.of();
+}
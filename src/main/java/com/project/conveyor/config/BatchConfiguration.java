@@ -0,0 +1,14 @@
+package com.project.conveyor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties("batch")
+public class BatchConfiguration {
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int maxBatchSize = 1000;
+    private int maxGridCells = 1000;
+}
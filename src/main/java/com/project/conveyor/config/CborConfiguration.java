@@ -0,0 +1,51 @@
+package com.project.conveyor.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Бинарный формат application/cbor для внутренних сервисов; JSON остаётся форматом по умолчанию,
+ * CBOR выбирается заголовками Content-Type / Accept.
+ * Маппер строится тем же Jackson2ObjectMapperBuilder, что и JSON-маппер, поэтому DTO
+ * сериализуются одинаково. BigDecimal в CBOR записывается тегом 4 (decimal fraction):
+ * массив [-scale, unscaled] из целых чисел, без разбора строк и с сохранением масштаба.
+ */
+@Configuration
+public class CborConfiguration {
+
+    /**
+     * ObjectMapper не объявляется бином: второй бин этого типа отключил бы JSON-маппер Spring Boot
+     */
+    private static ObjectMapper cborObjectMapper(ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+        return builder.getObject().factory(new CBORFactory()).build();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer cborCodecCustomizer(ObjectMapper jsonObjectMapper, ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+        ObjectMapper objectMapper = cborObjectMapper(builder);
+        return configurer -> {
+            // Пользовательские кодеки WebFlux стоят перед стандартными, и при Accept: */* выбирается первый
+            // подходящий; JSON-кодировщик регистрируется раньше CBOR, чтобы ответом по умолчанию оставался JSON
+            configurer.customCodecs().register(new Jackson2JsonEncoder(jsonObjectMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(objectMapper, MediaType.APPLICATION_CBOR));
+            configurer.customCodecs().register(new CborEncoder(objectMapper));
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.conveyor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("execution")
+public class ExecutionConfiguration {
+    private boolean virtualThreads = false;
+    private int maxConcurrentRequests = 0;
+    private Duration acquireTimeout = Duration.ofMillis(500);
+}
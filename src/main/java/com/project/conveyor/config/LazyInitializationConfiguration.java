@@ -0,0 +1,26 @@
+package com.project.conveyor.config;
+
+import com.project.conveyor.metrics.ConveyorMetrics;
+import com.project.conveyor.service.AnnuityCalculator;
+import com.project.conveyor.service.ConveyorSettingsHolder;
+import com.project.conveyor.service.SettingsFileWatcher;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Бины, которые создаются при старте и при spring.main.lazy-initialization: true (профиль fast-startup):
+ * ошибки в настройках должны останавливать запуск, прогрев кэша аннуитетов и регистрация метрик не должны
+ * переноситься на первый запрос, а наблюдатель за файлом настроек работает, только если создан.
+ */
+@Configuration
+public class LazyInitializationConfiguration {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerConveyorBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ConveyorSettingsHolder.class,
+                AnnuityCalculator.class,
+                ConveyorMetrics.class,
+                SettingsFileWatcher.class);
+    }
+}
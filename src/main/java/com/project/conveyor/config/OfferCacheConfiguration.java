@@ -0,0 +1,16 @@
+package com.project.conveyor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("offer-cache")
+public class OfferCacheConfiguration {
+    private boolean enabled = true;
+    private int maxSize = 10_000;
+    private Duration ttl = Duration.ofMinutes(10);
+}
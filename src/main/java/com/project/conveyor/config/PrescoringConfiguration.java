@@ -2,15 +2,20 @@ package com.project.conveyor.config;
 
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 
 @Data
-@Component
 @ConfigurationProperties("prescoring-constants")
 public class PrescoringConfiguration {
     private BigDecimal minRequestedAmount;
     private Integer minTerm;
     private Integer minAge;
+    private int minNameLength = 2;
+    private int maxNameLength = 30;
+    private int minEmailPartLength = 2;
+    private int maxEmailLocalPartLength = 50;
+    private int maxEmailDomainLength = 20;
+    private int passportSeriesLength = 4;
+    private int passportNumberLength = 6;
 }
@@ -0,0 +1,45 @@
+package com.project.conveyor.config;
+
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Надбавки к базовой ставке (default-setting.defaultRate) по данным скоринга.
+ * Отрицательное значение - скидка.
+ */
+@Data
+@ConfigurationProperties("rate-rules")
+public class RateRulesConfiguration {
+    private Map<EmploymentStatus, BigDecimal> employmentStatus = new LinkedHashMap<>();
+    private Map<Position, BigDecimal> position = new LinkedHashMap<>();
+    private Map<MaritalStatus, BigDecimal> maritalStatus = new LinkedHashMap<>();
+    private DependentRule dependents = new DependentRule();
+    private Map<Gender, AgeBandRule> gender = new LinkedHashMap<>();
+
+    /**
+     * Надбавка, если иждивенцев больше moreThan
+     */
+    @Data
+    public static class DependentRule {
+        private int moreThan;
+        private BigDecimal delta = BigDecimal.ZERO;
+    }
+
+    /**
+     * Надбавка, если возраст клиента в границах [minAge, maxAge]; без границ - для любого возраста
+     */
+    @Data
+    public static class AgeBandRule {
+        private Integer minAge;
+        private Integer maxAge;
+        private BigDecimal delta = BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.conveyor.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Сервер для spring.main.web-application-type: reactive.
+ * Tomcat нужен servlet-режиму и остаётся в classpath, а Spring Boot при выборе reactive-сервера
+ * предпочитает его Netty, поэтому фабрика Netty задаётся явно.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveServerConfiguration {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.conveyor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("repricing")
+public class RepricingConfiguration {
+    /** CSV с анкетами; если задан, приложение пересчитывает портфель и завершается */
+    private String input;
+    private String output;
+    /** По умолчанию output + ".checkpoint" */
+    private String checkpoint;
+    private int chunkSize = 10_000;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private Duration progressInterval = Duration.ofSeconds(10);
+}
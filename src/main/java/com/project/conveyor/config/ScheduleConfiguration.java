@@ -0,0 +1,17 @@
+package com.project.conveyor.config;
+
+import com.project.conveyor.service.DayCountConvention;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties("schedule")
+public class ScheduleConfiguration {
+    private String engine = "big-decimal";
+    private DayCountConvention dayCountConvention = DayCountConvention.ACT_ACT;
+    private int dayCountHorizonYears = 40;
+    private int templateCacheSize = 1024;
+    private int templateMaxTerm = 480;
+}
@@ -0,0 +1,19 @@
+package com.project.conveyor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("schedule-jobs")
+public class ScheduleJobConfiguration {
+    private int workers = 2;
+    private int queueCapacity = 1000;
+    private int maxJobs = 1000;
+    private long maxRows = 100_000;
+    private Duration ttl = Duration.ofMinutes(5);
+    private Duration sseTimeout = Duration.ofSeconds(60);
+}
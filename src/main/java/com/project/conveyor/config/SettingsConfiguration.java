@@ -0,0 +1,13 @@
+package com.project.conveyor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties("settings")
+public class SettingsConfiguration {
+    private String file;
+    private boolean watch = false;
+}
@@ -0,0 +1,13 @@
+package com.project.conveyor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties("startup")
+public class StartupConfiguration {
+    /** Завершить приложение сразу после готовности (обучающий запуск для архива CDS, замер времени старта) */
+    private boolean exitOnReady = false;
+}
@@ -0,0 +1,19 @@
+package com.project.conveyor.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("warm-up")
+public class WarmUpConfiguration {
+    private boolean enabled = true;
+    private int batchSize = 200;
+    private int minBatches = 5;
+    private int stableBatches = 3;
+    private double tolerance = 0.1;
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
@@ -1,32 +1,176 @@
 package com.project.conveyor.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.project.conveyor.config.ScheduleJobConfiguration;
+import com.project.conveyor.exception.JobNotFoundException;
 import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.ExceptionReasons;
 import com.project.conveyor.model.LoanApplicationRequestDTO;
 import com.project.conveyor.model.LoanOfferDTO;
+import com.project.conveyor.model.LoanOfferGridRequestDTO;
+import com.project.conveyor.model.LoanOfferGridRowDTO;
+import com.project.conveyor.model.LoanOffersBatchItemDTO;
+import com.project.conveyor.model.PaymentScheduleElement;
+import com.project.conveyor.model.PrepaymentRequestDTO;
+import com.project.conveyor.model.ScheduleJobDTO;
 import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.ScoringMode;
+import com.project.conveyor.service.ConcurrencyLimiter;
 import com.project.conveyor.service.ConveyorService;
+import com.project.conveyor.service.ScheduleJob;
+import com.project.conveyor.service.StreamedCredit;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ConveyorController{
 
+    private static final String JOB_EVENT = "job";
+
     private final ConveyorService conveyorService;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ObjectMapper objectMapper;
+    private final ScheduleJobConfiguration scheduleJobConfiguration;
 
     @PostMapping("/conveyor/offers")
     public ResponseEntity<List<LoanOfferDTO>> getLoanOffers(@RequestBody LoanApplicationRequestDTO request){
-        return conveyorService.getLoanOffers(request);
+        return ResponseEntity.ok(concurrencyLimiter.execute(() -> conveyorService.getLoanOffers(request)));
+    }
+
+    @PostMapping("/conveyor/offers/batch")
+    public ResponseEntity<List<LoanOffersBatchItemDTO>> getLoanOffersBatch(@RequestBody List<LoanApplicationRequestDTO> requests){
+        return ResponseEntity.ok(concurrencyLimiter.executeBatch(requests.size(), () -> conveyorService.getLoanOffersBatch(requests)));
+    }
+
+    @PostMapping("/conveyor/offers/grid")
+    public ResponseEntity<List<LoanOfferGridRowDTO>> getLoanOfferGrid(@RequestBody LoanOfferGridRequestDTO request){
+        return ResponseEntity.ok(concurrencyLimiter.executeBatch(() -> conveyorService.getLoanOfferGrid(request)));
     }
 
     @PostMapping("/conveyor/calculation")
-    public ResponseEntity<CreditDTO> calculationLoanParams(@RequestBody ScoringDataDTO request){
-        return conveyorService.calculationLoanParams(request);
+    public ResponseEntity<CreditDTO> calculationLoanParams(@RequestBody ScoringDataDTO request,
+                                                           @RequestParam(defaultValue = "ALL_REASONS") ScoringMode scoringMode){
+        return ResponseEntity.ok(concurrencyLimiter.execute(() -> conveyorService.calculationLoanParams(request, scoringMode)));
+    }
+
+    /**
+     * Кредит на максимальную сумму по зарплате и, если задан maxMonthlyPayment, по ежемесячному платежу.
+     * Сумма из заявки не используется.
+     */
+    @PostMapping("/conveyor/calculation/max-amount")
+    public ResponseEntity<CreditDTO> calculationMaxAmount(@RequestBody ScoringDataDTO request,
+                                                          @RequestParam(required = false) BigDecimal maxMonthlyPayment,
+                                                          @RequestParam(defaultValue = "ALL_REASONS") ScoringMode scoringMode){
+        return ResponseEntity.ok(concurrencyLimiter.execute(() -> conveyorService.calculationMaxAmount(request, maxMonthlyPayment, scoringMode)));
+    }
+
+    /**
+     * Пересчёт графика после досрочного погашения: платежи до досрочного погашения не пересчитываются
+     */
+    @PostMapping("/conveyor/calculation/prepayment")
+    public ResponseEntity<CreditDTO> calculationPrepayment(@RequestBody PrepaymentRequestDTO request){
+        return ResponseEntity.ok(concurrencyLimiter.execute(() -> conveyorService.calculationPrepayment(request)));
+    }
+
+    /**
+     * NDJSON: первой строкой параметры кредита (без графика), далее по строке на каждый платёж.
+     * Строки графика рассчитываются по мере записи в ответ, место в ConcurrencyLimiter занято до конца записи.
+     */
+    @PostMapping(value = "/conveyor/calculation", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> calculationLoanParamsStream(@RequestBody ScoringDataDTO request,
+                                                                             @RequestParam(defaultValue = "ALL_REASONS") ScoringMode scoringMode){
+        ConcurrencyLimiter.Permit permit = concurrencyLimiter.acquire();
+        StreamedCredit streamedCredit;
+        try {
+            streamedCredit = conveyorService.calculationLoanParamsStream(request, scoringMode);
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (permit) {
+                ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                writer.writeValue(outputStream, streamedCredit.getCredit());
+                outputStream.write('\n');
+                Iterator<PaymentScheduleElement> paymentSchedule = streamedCredit.getPaymentSchedule();
+                while (paymentSchedule.hasNext()) {
+                    writer.writeValue(outputStream, paymentSchedule.next());
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Параметры кредита без графика и идентификатор задачи расчёта графика.
+     * График запрашивается по ссылке из заголовка Location.
+     */
+    @PostMapping("/conveyor/calculation/async")
+    public ResponseEntity<ScheduleJobDTO> calculationLoanParamsAsync(@RequestBody ScoringDataDTO request,
+                                                                     @RequestParam(defaultValue = "ALL_REASONS") ScoringMode scoringMode){
+        ScheduleJob job = concurrencyLimiter.execute(() -> conveyorService.calculationLoanParamsAsync(request, scoringMode));
+        return ResponseEntity.accepted()
+                .location(URI.create("/conveyor/calculation/jobs/" + job.getId()))
+                .body(job.toDTO());
+    }
+
+    @GetMapping("/conveyor/calculation/jobs/{jobId}")
+    public ResponseEntity<ScheduleJobDTO> getScheduleJob(@PathVariable UUID jobId){
+        return ResponseEntity.ok(scheduleJob(jobId).toDTO());
+    }
+
+    /**
+     * SSE: событие job с текущим состоянием задачи и, если график ещё не готов, второе - после завершения расчёта
+     */
+    @GetMapping(value = "/conveyor/calculation/jobs/{jobId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getScheduleJobEvents(@PathVariable UUID jobId) throws IOException {
+        ScheduleJob job = scheduleJob(jobId);
+        SseEmitter emitter = new SseEmitter(scheduleJobConfiguration.getSseTimeout().toMillis());
+        CompletableFuture<?> paymentSchedule = job.getPaymentSchedule();
+        if (!paymentSchedule.isDone()) {
+            emitter.send(SseEmitter.event().name(JOB_EVENT).data(job.toDTO()));
+        }
+        paymentSchedule.whenComplete((schedule, e) -> {
+            try {
+                emitter.send(SseEmitter.event().name(JOB_EVENT).data(job.toDTO()));
+                emitter.complete();
+            } catch (IOException | IllegalStateException ex) {
+                emitter.completeWithError(ex);
+            }
+        });
+        return emitter;
+    }
+
+    private ScheduleJob scheduleJob(UUID jobId) {
+        return conveyorService.getScheduleJob(jobId)
+                .orElseThrow(() -> new JobNotFoundException(List.of(new ExceptionReasons("jobId", "Unknown job " + jobId))));
     }
 
-}
\ No newline at end of file
+}
@@ -1,35 +1,38 @@
 package com.project.conveyor.controller;
 
 import com.project.conveyor.exception.ExceptionResponse;
+import com.project.conveyor.exception.JobNotFoundException;
+import com.project.conveyor.exception.OverloadException;
 import com.project.conveyor.exception.PrescoringException;
 import com.project.conveyor.exception.ScoringException;
-import org.springframework.http.HttpStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.util.Date;
-
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ExceptionController extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(PrescoringException.class)
     public final ResponseEntity<ExceptionResponse> handlePrescoringExceptions(PrescoringException ex) {
-        ExceptionResponse exceptionResponse = new ExceptionResponse(
-                new Date().toString(),
-                ex.getReasons()
-        );
-        return new ResponseEntity<>(exceptionResponse, HttpStatus.BAD_REQUEST);
+        return ExceptionResponses.badRequest(ex.getReasons());
     }
 
     @ExceptionHandler(ScoringException.class)
     public final ResponseEntity<ExceptionResponse> handleScoringExceptions(ScoringException ex) {
-        ExceptionResponse exceptionResponse = new ExceptionResponse(
-                new Date().toString(),
-                ex.getReasons()
-        );
-        return new ResponseEntity<>(exceptionResponse, HttpStatus.BAD_REQUEST);
+        return ExceptionResponses.badRequest(ex.getReasons());
+    }
+
+    @ExceptionHandler(JobNotFoundException.class)
+    public final ResponseEntity<ExceptionResponse> handleJobNotFoundExceptions(JobNotFoundException ex) {
+        return ExceptionResponses.notFound(ex.getReasons());
+    }
+
+    @ExceptionHandler(OverloadException.class)
+    public final ResponseEntity<ExceptionResponse> handleOverloadExceptions(OverloadException ex) {
+        return ExceptionResponses.overloaded(ex.getReasons());
     }
 
-}
\ No newline at end of file
+}
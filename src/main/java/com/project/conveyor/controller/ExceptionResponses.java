@@ -0,0 +1,38 @@
+package com.project.conveyor.controller;
+
+import com.project.conveyor.exception.ExceptionResponse;
+import com.project.conveyor.model.ExceptionReasons;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Ответы на ошибки конвейера, общие для servlet- и reactive-обработчиков
+ */
+final class ExceptionResponses {
+
+    private ExceptionResponses() {
+    }
+
+    static ResponseEntity<ExceptionResponse> badRequest(List<ExceptionReasons> reasons) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ExceptionResponse.of(reasons));
+    }
+
+    static ResponseEntity<ExceptionResponse> notFound(List<ExceptionReasons> reasons) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ExceptionResponse.of(reasons));
+    }
+
+    static ResponseEntity<ExceptionResponse> overloaded(List<ExceptionReasons> reasons) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ExceptionResponse.of(reasons));
+    }
+}
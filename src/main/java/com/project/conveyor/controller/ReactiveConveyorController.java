@@ -0,0 +1,151 @@
+package com.project.conveyor.controller;
+
+import com.project.conveyor.exception.JobNotFoundException;
+import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.ExceptionReasons;
+import com.project.conveyor.model.LoanApplicationRequestDTO;
+import com.project.conveyor.model.LoanOfferDTO;
+import com.project.conveyor.model.LoanOfferGridRequestDTO;
+import com.project.conveyor.model.LoanOfferGridRowDTO;
+import com.project.conveyor.model.LoanOffersBatchItemDTO;
+import com.project.conveyor.model.PrepaymentRequestDTO;
+import com.project.conveyor.model.ScheduleJobDTO;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.ScoringMode;
+import com.project.conveyor.service.ConcurrencyLimiter;
+import com.project.conveyor.service.ConveyorService;
+import com.project.conveyor.service.ScheduleJob;
+import com.project.conveyor.service.StreamedCredit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Те же точки входа, что и ConveyorController, на WebFlux (spring.main.web-application-type: reactive).
+ * Расчёты нагружают процессор, а ConcurrencyLimiter может ждать свободного места,
+ * поэтому они выполняются на Schedulers.boundedElastic(), а не в потоках обработки событий.
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConveyorController{
+
+    private static final String JOB_EVENT = "job";
+
+    private final ConveyorService conveyorService;
+    private final ConcurrencyLimiter concurrencyLimiter;
+
+    @PostMapping("/conveyor/offers")
+    public Mono<List<LoanOfferDTO>> getLoanOffers(@RequestBody LoanApplicationRequestDTO request){
+        return calculate(() -> conveyorService.getLoanOffers(request));
+    }
+
+    @PostMapping("/conveyor/offers/batch")
+    public Mono<List<LoanOffersBatchItemDTO>> getLoanOffersBatch(@RequestBody List<LoanApplicationRequestDTO> requests){
+        return onBoundedElastic(() -> concurrencyLimiter.executeBatch(requests.size(), () -> conveyorService.getLoanOffersBatch(requests)));
+    }
+
+    @PostMapping("/conveyor/offers/grid")
+    public Mono<List<LoanOfferGridRowDTO>> getLoanOfferGrid(@RequestBody LoanOfferGridRequestDTO request){
+        return onBoundedElastic(() -> concurrencyLimiter.executeBatch(() -> conveyorService.getLoanOfferGrid(request)));
+    }
+
+    @PostMapping("/conveyor/calculation")
+    public Mono<CreditDTO> calculationLoanParams(@RequestBody ScoringDataDTO request,
+                                                 @RequestParam(defaultValue = "ALL_REASONS") ScoringMode scoringMode){
+        return calculate(() -> conveyorService.calculationLoanParams(request, scoringMode));
+    }
+
+    @PostMapping("/conveyor/calculation/max-amount")
+    public Mono<CreditDTO> calculationMaxAmount(@RequestBody ScoringDataDTO request,
+                                                @RequestParam(required = false) BigDecimal maxMonthlyPayment,
+                                                @RequestParam(defaultValue = "ALL_REASONS") ScoringMode scoringMode){
+        return calculate(() -> conveyorService.calculationMaxAmount(request, maxMonthlyPayment, scoringMode));
+    }
+
+    @PostMapping("/conveyor/calculation/prepayment")
+    public Mono<CreditDTO> calculationPrepayment(@RequestBody PrepaymentRequestDTO request){
+        return calculate(() -> conveyorService.calculationPrepayment(request));
+    }
+
+    /**
+     * NDJSON: первым элементом параметры кредита (без графика), далее строки графика
+     * по мере запроса их клиентом. Место в ConcurrencyLimiter занято, пока поток не завершится или не будет отменён.
+     */
+    @PostMapping(value = "/conveyor/calculation", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> calculationLoanParamsStream(@RequestBody ScoringDataDTO request,
+                                                    @RequestParam(defaultValue = "ALL_REASONS") ScoringMode scoringMode){
+        return Flux.using(concurrencyLimiter::acquire,
+                        permit -> {
+                            StreamedCredit streamedCredit = conveyorService.calculationLoanParamsStream(request, scoringMode);
+                            return Flux.<Object>concat(Mono.just(streamedCredit.getCredit()),
+                                    Flux.fromIterable(() -> streamedCredit.getPaymentSchedule()));
+                        },
+                        ConcurrencyLimiter.Permit::close)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Параметры кредита без графика и идентификатор задачи расчёта графика.
+     * График запрашивается по ссылке из заголовка Location.
+     */
+    @PostMapping("/conveyor/calculation/async")
+    public Mono<ResponseEntity<ScheduleJobDTO>> calculationLoanParamsAsync(@RequestBody ScoringDataDTO request,
+                                                                           @RequestParam(defaultValue = "ALL_REASONS") ScoringMode scoringMode){
+        return calculate(() -> conveyorService.calculationLoanParamsAsync(request, scoringMode))
+                .map(job -> ResponseEntity.accepted()
+                        .location(URI.create("/conveyor/calculation/jobs/" + job.getId()))
+                        .body(job.toDTO()));
+    }
+
+    @GetMapping("/conveyor/calculation/jobs/{jobId}")
+    public Mono<ScheduleJobDTO> getScheduleJob(@PathVariable UUID jobId){
+        return Mono.fromSupplier(() -> scheduleJob(jobId).toDTO());
+    }
+
+    /**
+     * SSE: событие job с текущим состоянием задачи и, если график ещё не готов, второе - после завершения расчёта
+     */
+    @GetMapping(value = "/conveyor/calculation/jobs/{jobId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<ScheduleJobDTO>> getScheduleJobEvents(@PathVariable UUID jobId){
+        return Mono.fromSupplier(() -> scheduleJob(jobId))
+                .flatMapMany(job -> {
+                    Mono<ScheduleJobDTO> completed = Mono.fromFuture(job.getPaymentSchedule().handle((schedule, e) -> job.toDTO()));
+                    Flux<ScheduleJobDTO> states = job.getPaymentSchedule().isDone()
+                            ? Flux.from(completed)
+                            : Flux.concat(Mono.just(job.toDTO()), completed);
+                    return states.map(state -> ServerSentEvent.builder(state).event(JOB_EVENT).build());
+                });
+    }
+
+    private ScheduleJob scheduleJob(UUID jobId) {
+        return conveyorService.getScheduleJob(jobId)
+                .orElseThrow(() -> new JobNotFoundException(List.of(new ExceptionReasons("jobId", "Unknown job " + jobId))));
+    }
+
+    private <T> Mono<T> calculate(Supplier<T> calculation) {
+        return onBoundedElastic(() -> concurrencyLimiter.execute(calculation));
+    }
+
+    private static <T> Mono<T> onBoundedElastic(Supplier<T> calculation) {
+        return Mono.fromSupplier(calculation)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.conveyor.controller;
+
+import com.project.conveyor.exception.ExceptionResponse;
+import com.project.conveyor.exception.JobNotFoundException;
+import com.project.conveyor.exception.OverloadException;
+import com.project.conveyor.exception.PrescoringException;
+import com.project.conveyor.exception.ScoringException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionController {
+
+    @ExceptionHandler(PrescoringException.class)
+    public final ResponseEntity<ExceptionResponse> handlePrescoringExceptions(PrescoringException ex) {
+        return ExceptionResponses.badRequest(ex.getReasons());
+    }
+
+    @ExceptionHandler(ScoringException.class)
+    public final ResponseEntity<ExceptionResponse> handleScoringExceptions(ScoringException ex) {
+        return ExceptionResponses.badRequest(ex.getReasons());
+    }
+
+    @ExceptionHandler(JobNotFoundException.class)
+    public final ResponseEntity<ExceptionResponse> handleJobNotFoundExceptions(JobNotFoundException ex) {
+        return ExceptionResponses.notFound(ex.getReasons());
+    }
+
+    @ExceptionHandler(OverloadException.class)
+    public final ResponseEntity<ExceptionResponse> handleOverloadExceptions(OverloadException ex) {
+        return ExceptionResponses.overloaded(ex.getReasons());
+    }
+
+}
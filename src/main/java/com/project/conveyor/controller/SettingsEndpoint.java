@@ -0,0 +1,44 @@
+package com.project.conveyor.controller;
+
+import com.project.conveyor.service.ConveyorSettings;
+import com.project.conveyor.service.ConveyorSettingsHolder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * /actuator/settings: действующие настройки расчёта (только чтение).
+ * Перечитать настройки можно через JMX (SettingsRefreshEndpoint) или наблюдение за файлом (settings.watch).
+ */
+@Component
+@Endpoint(id = "settings")
+@RequiredArgsConstructor
+public class SettingsEndpoint {
+
+    private final ConveyorSettingsHolder settingsHolder;
+
+    @ReadOperation
+    public Map<String, Object> settings() {
+        return describe(settingsHolder.get());
+    }
+
+    static Map<String, Object> describe(ConveyorSettings settings) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("version", settings.getVersion());
+        description.put("fingerprint", settings.getFingerprint());
+        description.put("defaultRate", settings.getDefaultRate());
+        description.put("applicationId", settings.getApplicationId());
+        description.put("insuranceRateDiscount", settings.getInsuranceRateDiscount());
+        description.put("salaryClientRateDiscount", settings.getSalaryClientRateDiscount());
+        description.put("loanToSalaryRatio", settings.getLoanToSalaryRatio());
+        description.put("scoringMinAge", settings.getScoringMinAge());
+        description.put("scoringMaxAge", settings.getScoringMaxAge());
+        description.put("minWorkExperienceTotal", settings.getMinWorkExperienceTotal());
+        description.put("minWorkExperienceCurrent", settings.getMinWorkExperienceCurrent());
+        return description;
+    }
+}
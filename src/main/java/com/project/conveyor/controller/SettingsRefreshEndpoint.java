@@ -0,0 +1,26 @@
+package com.project.conveyor.controller;
+
+import com.project.conveyor.service.ConveyorSettingsHolder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Перечитать настройки расчёта (операция refresh MBean org.springframework.boot:type=Endpoint,name=Settingsrefresh).
+ * Доступно только через JMX (spring.jmx.enabled: true): без аутентификации в HTTP такая операция не публикуется.
+ */
+@Component
+@JmxEndpoint(id = "settingsrefresh")
+@RequiredArgsConstructor
+public class SettingsRefreshEndpoint {
+
+    private final ConveyorSettingsHolder settingsHolder;
+
+    @WriteOperation
+    public Map<String, Object> refresh() {
+        return SettingsEndpoint.describe(settingsHolder.refresh());
+    }
+}
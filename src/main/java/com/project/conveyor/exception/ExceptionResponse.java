@@ -4,12 +4,22 @@ import com.project.conveyor.model.ExceptionReasons;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 
 @Data
 @AllArgsConstructor
 public class ExceptionResponse {
+
+    /** ISO-8601 в UTC, например 2023-01-01T12:00:00.123Z */
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_INSTANT;
+
     private String timestamp;
     private List<ExceptionReasons> details;
+
+    public static ExceptionResponse of(List<ExceptionReasons> details) {
+        return new ExceptionResponse(TIMESTAMP_FORMAT.format(Instant.now()), details);
+    }
 }
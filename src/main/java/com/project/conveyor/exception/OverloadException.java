@@ -0,0 +1,15 @@
+package com.project.conveyor.exception;
+
+import com.project.conveyor.model.ExceptionReasons;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@Data
+@EqualsAndHashCode(callSuper = false)
+@AllArgsConstructor
+public class OverloadException extends RejectionException {
+    private List<ExceptionReasons> reasons;
+}
@@ -3,11 +3,13 @@ package com.project.conveyor.exception;
 import com.project.conveyor.model.ExceptionReasons;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 import java.util.List;
 
 @Data
+@EqualsAndHashCode(callSuper = false)
 @AllArgsConstructor
-public class PrescoringException extends RuntimeException{
+public class PrescoringException extends RejectionException {
     private List<ExceptionReasons> reasons;
 }
@@ -0,0 +1,19 @@
+package com.project.conveyor.exception;
+
+import com.project.conveyor.model.ExceptionReasons;
+
+import java.util.List;
+
+/**
+ * Отказ в обработке заявки с причинами reasons. Отказ - штатный результат, а не ошибка программы:
+ * причина полностью описывается reasons, поэтому стек вызовов не заполняется (fillInStackTrace
+ * при большой доле отказов в трафике заметно нагружает процессор).
+ */
+public abstract class RejectionException extends RuntimeException {
+
+    protected RejectionException() {
+        super(null, null, false, false);
+    }
+
+    public abstract List<ExceptionReasons> getReasons();
+}
@@ -3,11 +3,13 @@ package com.project.conveyor.exception;
 import com.project.conveyor.model.ExceptionReasons;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 import java.util.List;
 
 @Data
+@EqualsAndHashCode(callSuper = false)
 @AllArgsConstructor
-public class ScoringException extends RuntimeException {
+public class ScoringException extends RejectionException {
     private List<ExceptionReasons> reasons;
 }
\ No newline at end of file
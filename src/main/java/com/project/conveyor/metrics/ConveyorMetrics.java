@@ -0,0 +1,183 @@
+package com.project.conveyor.metrics;
+
+import com.project.conveyor.model.ExceptionReasons;
+import com.project.conveyor.service.AnnuityCalculator;
+import com.project.conveyor.service.ConveyorSettingsHolder;
+import com.project.conveyor.service.LoanOfferCache;
+import com.project.conveyor.service.ScheduleJobs;
+import com.project.conveyor.service.TemplatePaymentScheduleEngine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Метрики конвейера (доступны через /actuator/prometheus):
+ * <ul>
+ *     <li>conveyor.stage - время этапов расчёта (тег stage): prescoring, annuity, schedule. Скоринг и расчёт
+ *     ставки занимают меньше микросекунды - таймер на каждый вызов стоил бы дороже самих этапов, поэтому они не замеряются</li>
+ *     <li>conveyor.application.amount, conveyor.application.term - распределение сумм и сроков
+ *     заявок, прошедших проверку (тег operation)</li>
+ *     <li>conveyor.rejections - отказы по полям ExceptionReasons.nameField (теги stage, field)</li>
+ *     <li>conveyor.annuity.cache.* - состояние кэша коэффициентов аннуитета</li>
+ *     <li>conveyor.offer.cache.* - состояние кэша кредитных предложений</li>
+ *     <li>conveyor.schedule.template.cache.* - состояние кэша шаблонов графика (при schedule.engine: template)</li>
+ *     <li>conveyor.schedule.jobs.queued, conveyor.schedule.jobs.active - фоновые расчёты графика,
+ *     ожидающие обработчика и выполняемые</li>
+ *     <li>conveyor.settings.version - версия действующего снимка настроек</li>
+ * </ul>
+ * Таймеры и распределения публикуют только count, sum и max. Гистограммы для перцентилей включаются
+ * настройкой management.metrics.distribution.percentiles-histogram.conveyor: true - запись в гистограмму
+ * на каждый вызов заметно дороже этапов скоринга.
+ */
+@Component
+public class ConveyorMetrics {
+
+    public enum Stage {
+        PRESCORING(true),
+        /** Только для тега отказов */
+        SCORING(false),
+        ANNUITY(true),
+        SCHEDULE(true);
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+        private final boolean timed;
+
+        Stage(boolean timed) {
+            this.timed = timed;
+        }
+    }
+
+    public enum Operation {
+        OFFERS,
+        CALCULATION;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final ConveyorMetrics DISABLED = new ConveyorMetrics();
+
+    private final MeterRegistry registry;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Operation, DistributionSummary> amounts = new EnumMap<>(Operation.class);
+    private final Map<Operation, DistributionSummary> terms = new EnumMap<>(Operation.class);
+
+    private ConveyorMetrics() {
+        this.registry = null;
+    }
+
+    /**
+     * @return метрики, которые ничего не регистрируют и не записывают (прогрев, WarmUpRunner)
+     */
+    public static ConveyorMetrics disabled() {
+        return DISABLED;
+    }
+
+    @Autowired
+    public ConveyorMetrics(MeterRegistry registry,
+                           AnnuityCalculator annuityCalculator,
+                           LoanOfferCache loanOfferCache,
+                           ConveyorSettingsHolder settingsHolder,
+                           ObjectProvider<TemplatePaymentScheduleEngine> templateEngine,
+                           ScheduleJobs scheduleJobs) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            if (stage.timed) {
+                stageTimers.put(stage, Timer.builder("conveyor.stage")
+                        .tag("stage", stage.tag)
+                        .register(registry));
+            }
+        }
+        for (Operation operation : Operation.values()) {
+            amounts.put(operation, DistributionSummary.builder("conveyor.application.amount")
+                    .tag("operation", operation.tag)
+                    .minimumExpectedValue(10_000.0)
+                    .maximumExpectedValue(100_000_000.0)
+                    .register(registry));
+            terms.put(operation, DistributionSummary.builder("conveyor.application.term")
+                    .tag("operation", operation.tag)
+                    .baseUnit("months")
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue(480.0)
+                    .register(registry));
+        }
+
+        FunctionCounter.builder("conveyor.annuity.cache.hits", annuityCalculator, AnnuityCalculator::getHitCount)
+                .register(registry);
+        FunctionCounter.builder("conveyor.annuity.cache.misses", annuityCalculator, AnnuityCalculator::getMissCount)
+                .register(registry);
+        Gauge.builder("conveyor.annuity.cache.size", annuityCalculator, AnnuityCalculator::getSize)
+                .register(registry);
+
+        FunctionCounter.builder("conveyor.offer.cache.hits", loanOfferCache, LoanOfferCache::getHitCount)
+                .register(registry);
+        FunctionCounter.builder("conveyor.offer.cache.misses", loanOfferCache, LoanOfferCache::getMissCount)
+                .register(registry);
+        Gauge.builder("conveyor.offer.cache.size", loanOfferCache, LoanOfferCache::getSize)
+                .register(registry);
+
+        templateEngine.ifAvailable(engine -> {
+            FunctionCounter.builder("conveyor.schedule.template.cache.hits", engine, TemplatePaymentScheduleEngine::getHitCount)
+                    .register(registry);
+            FunctionCounter.builder("conveyor.schedule.template.cache.misses", engine, TemplatePaymentScheduleEngine::getMissCount)
+                    .register(registry);
+            Gauge.builder("conveyor.schedule.template.cache.size", engine, TemplatePaymentScheduleEngine::getSize)
+                    .register(registry);
+        });
+
+        Gauge.builder("conveyor.schedule.jobs.queued", scheduleJobs, ScheduleJobs::getQueueSize)
+                .register(registry);
+        Gauge.builder("conveyor.schedule.jobs.active", scheduleJobs, ScheduleJobs::getActiveCount)
+                .register(registry);
+
+        Gauge.builder("conveyor.settings.version", settingsHolder, holder -> holder.get().getVersion())
+                .register(registry);
+    }
+
+    public <T> T time(Stage stage, Supplier<T> task) {
+        Timer timer = stageTimers.get(stage);
+        return timer != null ? timer.record(task) : task.get();
+    }
+
+    public void time(Stage stage, Runnable task) {
+        Timer timer = stageTimers.get(stage);
+        if (timer != null) {
+            timer.record(task);
+        } else {
+            task.run();
+        }
+    }
+
+    public void recordApplication(Operation operation, BigDecimal amount, int term) {
+        if (registry == null) {
+            return;
+        }
+        amounts.get(operation).record(amount.doubleValue());
+        terms.get(operation).record(term);
+    }
+
+    public void recordRejections(Stage stage, List<ExceptionReasons> reasons) {
+        if (registry == null) {
+            return;
+        }
+        for (ExceptionReasons reason : reasons) {
+            Counter.builder("conveyor.rejections")
+                    .tag("stage", stage.tag)
+                    .tag("field", reason.getNameField())
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
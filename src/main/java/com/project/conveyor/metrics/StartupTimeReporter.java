@@ -0,0 +1,33 @@
+package com.project.conveyor.metrics;
+
+import com.project.conveyor.config.StartupConfiguration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Время от запуска JVM до готовности приложения (ApplicationReadyEvent). Строка "Time to ready"
+ * разбирается StartupBenchmark; то же время публикуется Spring Boot метрикой application.ready.time.
+ * При startup.exitOnReady: true приложение завершается сразу после готовности.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupTimeReporter {
+
+    private final StartupConfiguration startupConfiguration;
+
+    @EventListener
+    void onReady(ApplicationReadyEvent event) {
+        long timeToReady = ManagementFactory.getRuntimeMXBean().getUptime();
+        log.info("Time to ready: {} ms", timeToReady);
+        if (startupConfiguration.isExitOnReady()) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
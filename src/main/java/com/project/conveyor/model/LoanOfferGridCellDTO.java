@@ -0,0 +1,13 @@
+package com.project.conveyor.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LoanOfferGridCellDTO {
+    private Integer term;
+    private List<LoanOfferDTO> offers;
+}
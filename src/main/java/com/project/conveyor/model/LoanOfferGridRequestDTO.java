@@ -0,0 +1,17 @@
+package com.project.conveyor.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class LoanOfferGridRequestDTO {
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private BigDecimal amountStep;
+    private Integer minTerm;
+    private Integer maxTerm;
+    private Integer termStep;
+}
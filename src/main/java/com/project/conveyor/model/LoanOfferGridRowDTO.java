@@ -0,0 +1,14 @@
+package com.project.conveyor.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LoanOfferGridRowDTO {
+    private BigDecimal amount;
+    private List<LoanOfferGridCellDTO> cells;
+}
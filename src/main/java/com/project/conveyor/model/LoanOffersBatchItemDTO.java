@@ -0,0 +1,13 @@
+package com.project.conveyor.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class LoanOffersBatchItemDTO {
+    private List<LoanOfferDTO> offers;
+    private List<ExceptionReasons> reasons;
+}
@@ -0,0 +1,18 @@
+package com.project.conveyor.model;
+
+import com.project.conveyor.model.enums.PrepaymentType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class PrepaymentRequestDTO {
+    /** Кредит с графиком платежей (ответ /conveyor/calculation или предыдущего пересчёта) */
+    private CreditDTO credit;
+    /** Номер платежа, вместе с которым вносится досрочное погашение (0 - до первого платежа) */
+    private Integer paymentNumber;
+    private BigDecimal amount;
+    private PrepaymentType type;
+}
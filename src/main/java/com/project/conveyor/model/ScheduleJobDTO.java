@@ -0,0 +1,15 @@
+package com.project.conveyor.model;
+
+import com.project.conveyor.model.enums.ScheduleJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class ScheduleJobDTO {
+    private UUID jobId;
+    private ScheduleJobStatus status;
+    private CreditDTO credit;
+}
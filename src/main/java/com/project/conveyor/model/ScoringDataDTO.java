@@ -4,6 +4,7 @@ import com.project.conveyor.model.enums.Gender;
 import com.project.conveyor.model.enums.MaritalStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.With;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -11,6 +12,7 @@ import java.time.LocalDate;
 @Data
 @AllArgsConstructor
 public class ScoringDataDTO {
+    @With
     private BigDecimal amount;
     private Integer term;
     private String firstName;
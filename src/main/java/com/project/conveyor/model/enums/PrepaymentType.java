@@ -0,0 +1,11 @@
+package com.project.conveyor.model.enums;
+
+/**
+ * Способ пересчёта графика после досрочного погашения
+ */
+public enum PrepaymentType {
+    /** Ежемесячный платёж сохраняется, срок сокращается */
+    REDUCE_TERM,
+    /** Срок сохраняется, ежемесячный платёж уменьшается */
+    REDUCE_PAYMENT;
+}
@@ -0,0 +1,12 @@
+package com.project.conveyor.model.enums;
+
+/**
+ * Состояние фонового расчёта графика платежей
+ */
+public enum ScheduleJobStatus {
+    /** Ожидает свободного обработчика */
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED;
+}
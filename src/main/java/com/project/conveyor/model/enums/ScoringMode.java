@@ -0,0 +1,11 @@
+package com.project.conveyor.model.enums;
+
+/**
+ * Режим скоринга, выбирается параметром запроса scoringMode
+ */
+public enum ScoringMode {
+    /** Проверяются все правила, в ответе - все причины отказа (для клиентов) */
+    ALL_REASONS,
+    /** Проверка до первого нарушенного правила (для внутренних сервисов, которым нужно только решение) */
+    FAIL_FAST;
+}
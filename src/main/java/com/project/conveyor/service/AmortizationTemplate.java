@@ -0,0 +1,60 @@
+package com.project.conveyor.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Шаблон графика для (ставка, срок, дата первого платежа): всё, что не зависит от суммы кредита.
+ * Для каждой строки хранится дата платежа и дробь процентов numerator / denominator, на которую
+ * умножается остаток долга в копейках (ставка × дни периода / (100 × 10^scale × длины годов)).
+ * Расчёт графика по шаблону - один проход с умножением и делением на long в каждой строке,
+ * без календарных вычислений и обращений к DayCountTable.
+ * Шаблон неизменяемый и может использоваться из нескольких потоков.
+ */
+final class AmortizationTemplate {
+
+    final BigDecimal rate;
+    final int term;
+    final LocalDate[] dates;
+    final long[] numerators;
+    final long[] denominators;
+    final int[] roundingErrorSigns;
+
+    private AmortizationTemplate(BigDecimal rate, int term) {
+        this.rate = rate;
+        this.term = term;
+        this.dates = new LocalDate[term];
+        this.numerators = new long[term];
+        this.denominators = new long[term];
+        this.roundingErrorSigns = new int[term];
+    }
+
+    /**
+     * Ставка должна поддерживаться целочисленным расчётом (см. FixedPointPaymentScheduleIterator.isSupported)
+     */
+    static AmortizationTemplate of(BigDecimal rate, int term, LocalDate dateFirstPayment, DayCountTable dayCountTable) {
+        AmortizationTemplate template = new AmortizationTemplate(rate, term);
+        long rateUnscaled = rate.unscaledValue().longValueExact();
+        long rateDenominator = 100 * BigDecimal.ONE.movePointRight(rate.scale()).longValueExact();
+
+        LocalDate datePayment = dateFirstPayment;
+        for (int i = 0; i < term; i++) {
+            DayCount dayCount = dayCountTable.get(datePayment, i == 0);
+            long days = (long) dayCount.days * dayCount.nextYearLength + (long) dayCount.nextYearDays * dayCount.yearLength;
+            template.dates[i] = datePayment;
+            template.numerators[i] = rateUnscaled * days;
+            template.denominators[i] = rateDenominator * dayCount.yearLength * dayCount.nextYearLength;
+            template.roundingErrorSigns[i] = dayCount.roundingErrorSign;
+            // Даты считаются от предыдущего платежа, как в PaymentScheduleIterator (31.01 -> 28.02 -> 28.03)
+            datePayment = datePayment.plusMonths(1);
+        }
+        return template;
+    }
+
+    /**
+     * @return проценты в копейках за платёж с индексом i при остатке долга debt копеек
+     */
+    long interest(int i, long debt) {
+        return FixedPointPaymentScheduleIterator.interest(debt, numerators[i], denominators[i], roundingErrorSigns[i]);
+    }
+}
@@ -0,0 +1,129 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.cache.BoundedCache;
+import com.project.conveyor.config.AnnuityCacheConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Расчёт коэффициента аннуитета с кэшированием по паре (ставка, срок).
+ * Коэффициент зависит только от числового значения ставки и срока, поэтому ставка в ключе
+ * нормализуется (20.0 и 20.00 - один ключ). При старте кэш прогревается ставками
+ * кредитных предложений (базовая ставка со скидками за страховку и зарплатный проект)
+ * для сроков из annuity-cache.warmUpTerms, после обновления настроек - ставками нового снимка.
+ */
+@Component
+public class AnnuityCalculator {
+
+    private final ConveyorSettingsHolder settingsHolder;
+    private final AnnuityCacheConfiguration annuityCacheConfiguration;
+    private final BoundedCache<AnnuityKey, BigDecimal> cache;
+
+    public AnnuityCalculator(ConveyorSettingsHolder settingsHolder,
+                             AnnuityCacheConfiguration annuityCacheConfiguration) {
+        this.settingsHolder = settingsHolder;
+        this.annuityCacheConfiguration = annuityCacheConfiguration;
+        this.cache = new BoundedCache<>(annuityCacheConfiguration.getMaxSize());
+    }
+
+    @PostConstruct
+    void warmUp() {
+        warmUp(settingsHolder.get());
+    }
+
+    @EventListener
+    void onSettingsRefreshed(ConveyorSettingsRefreshedEvent event) {
+        warmUp(event.getSettings());
+    }
+
+    private void warmUp(ConveyorSettings settings) {
+        BigDecimal defaultRate = settings.getDefaultRate();
+        BigDecimal insuranceDiscount = settings.getInsuranceRateDiscount();
+        BigDecimal salaryClientDiscount = settings.getSalaryClientRateDiscount();
+        List<BigDecimal> rates = List.of(
+                defaultRate,
+                defaultRate.subtract(insuranceDiscount),
+                defaultRate.subtract(salaryClientDiscount),
+                defaultRate.subtract(insuranceDiscount).subtract(salaryClientDiscount));
+        for (BigDecimal rate : rates) {
+            for (int term : annuityCacheConfiguration.getWarmUpTerms()) {
+                annuityRatio(rate, term);
+            }
+        }
+    }
+
+    /**
+     * @param rate годовая ставка в процентах
+     * @param term количество ежемесячных платежей
+     * @return коэффициент аннуитета с точностью 20 знаков
+     */
+    public @NotNull BigDecimal annuityRatio(@NotNull BigDecimal rate, int term) {
+        return cache.get(new AnnuityKey(rate.stripTrailingZeros(), term), AnnuityCalculator::calculate);
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public int getSize() {
+        return cache.size();
+    }
+
+    /**
+     * Коэффициенты аннуитета для сроков firstTerm, firstTerm + termStep, ... до lastTerm включительно.
+     * (1 + Месячная ставка)^Срок считается один раз для первого срока, а для следующих - умножением
+     * на (1 + Месячная ставка)^termStep. Возведение в степень и умножение BigDecimal точные,
+     * поэтому результат совпадает с annuityRatio для каждого срока.
+     */
+    public @NotNull List<BigDecimal> annuityRatios(@NotNull BigDecimal rate, int firstTerm, int lastTerm, int termStep) {
+        BigDecimal monthlyRate = monthlyRate(rate);
+        BigDecimal base = monthlyRate.add(BigDecimal.valueOf(1));
+        BigDecimal stepMultiplier = base.pow(termStep);
+        BigDecimal bracketsInFormula = base.pow(firstTerm);
+
+        List<BigDecimal> ratios = new ArrayList<>((lastTerm - firstTerm) / termStep + 1);
+        for (int term = firstTerm; term <= lastTerm; term += termStep) {
+            if (term != firstTerm) {
+                bracketsInFormula = bracketsInFormula.multiply(stepMultiplier);
+            }
+            ratios.add(ratio(monthlyRate, bracketsInFormula));
+        }
+        return ratios;
+    }
+
+    private static BigDecimal calculate(AnnuityKey key) {
+        /*
+        Расчёт коэффициента аннуитета по формуле:
+        Месячная ставка * (1 + Месячная ставка)^Кол-во платежей / ((1 + Месячная ставка)^Кол-во платежей - 1)
+         */
+        BigDecimal monthlyRate = monthlyRate(key.rate());
+        BigDecimal bracketsInFormula = monthlyRate.add(BigDecimal.valueOf(1)).pow(key.term());
+        return ratio(monthlyRate, bracketsInFormula);
+    }
+
+    private static BigDecimal monthlyRate(BigDecimal rate) {
+        return rate.divide(BigDecimal.valueOf(12 * 100), 20, RoundingMode.HALF_EVEN);
+    }
+
+    private static BigDecimal ratio(BigDecimal monthlyRate, BigDecimal bracketsInFormula) {
+        // Числитель формулы
+        BigDecimal numeratorAnnuityRatioCalculation = monthlyRate.multiply(bracketsInFormula);
+        // Знаменатель формулы
+        BigDecimal denominatorAnnuityRatioCalculation = bracketsInFormula.subtract(BigDecimal.valueOf(1));
+        return numeratorAnnuityRatioCalculation.divide(denominatorAnnuityRatioCalculation, 20, RoundingMode.HALF_EVEN);
+    }
+
+    private record AnnuityKey(BigDecimal rate, int term) {
+    }
+}
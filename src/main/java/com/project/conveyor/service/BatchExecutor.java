@@ -0,0 +1,40 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.BatchConfiguration;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Пул для параллельной обработки пакетных запросов.
+ * Размер пула ограничен batch.parallelism, чтобы пакетные расчёты не занимали
+ * общий ForkJoinPool.commonPool() и не вытесняли одиночные запросы.
+ */
+@Component
+public class BatchExecutor {
+
+    private final ForkJoinPool pool;
+
+    public BatchExecutor(BatchConfiguration batchConfiguration) {
+        this.pool = new ForkJoinPool(batchConfiguration.getParallelism());
+    }
+
+    /**
+     * Параллельно применяет функцию к элементам списка с сохранением порядка.
+     */
+    public <T, R> List<R> map(List<T> items, Function<? super T, ? extends R> function) {
+        return pool.submit(() -> items.parallelStream()
+                        .map(function)
+                        .collect(Collectors.<R>toList()))
+                .join();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.PaymentScheduleElement;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+/**
+ * Расчёт графика на BigDecimal (используется по умолчанию)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "schedule.engine", havingValue = "big-decimal", matchIfMissing = true)
+public class BigDecimalPaymentScheduleEngine implements PaymentScheduleEngine {
+
+    private final DayCountTable dayCountTable;
+
+    @Override
+    public @NotNull Iterator<PaymentScheduleElement> schedule(@NotNull BigDecimal amount,
+                                                              @NotNull BigDecimal rate,
+                                                              int term,
+                                                              @NotNull BigDecimal monthlyPayment,
+                                                              @NotNull LocalDate dateFirstPayment) {
+        return new PaymentScheduleIterator(amount, rate, term, monthlyPayment, dateFirstPayment, dayCountTable);
+    }
+
+    @Override
+    public @NotNull Iterator<PaymentScheduleElement> schedule(@NotNull BigDecimal remainingDebt,
+                                                              @NotNull BigDecimal rate,
+                                                              int term,
+                                                              @NotNull BigDecimal monthlyPayment,
+                                                              @NotNull LocalDate datePayment,
+                                                              int firstIndex) {
+        return new PaymentScheduleIterator(remainingDebt, rate, term, monthlyPayment, datePayment, firstIndex, dayCountTable);
+    }
+}
@@ -0,0 +1,113 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.BatchConfiguration;
+import com.project.conveyor.config.ExecutionConfiguration;
+import com.project.conveyor.exception.OverloadException;
+import com.project.conveyor.model.ExceptionReasons;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Ограничение числа одновременно выполняемых расчётов (execution.maxConcurrentRequests).
+ * Скоринг и расчёт графика нагружают процессор, поэтому при большом числе потоков
+ * (в первую очередь виртуальных) лишние запросы ждут освобождения места не дольше
+ * execution.acquireTimeout, а затем отклоняются с OverloadException.
+ * <p>
+ * Одиночный расчёт занимает одно место. Пакетный расчёт выполняется параллельно на BatchExecutor
+ * и занимает столько мест, сколько потоков пула он может занять (executeBatch). Потоковый ответ
+ * рассчитывает график во время записи, поэтому место берётся через acquire и освобождается
+ * после записи ответа.
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    private static final Permit NO_PERMIT = () -> {
+    };
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final int batchParallelism;
+    private final long acquireTimeoutNanos;
+
+    public ConcurrencyLimiter(ExecutionConfiguration executionConfiguration, BatchConfiguration batchConfiguration) {
+        int maxConcurrentRequests = executionConfiguration.getMaxConcurrentRequests();
+        this.permits = maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests, true) : null;
+        this.maxPermits = maxConcurrentRequests;
+        this.batchParallelism = batchConfiguration.getParallelism();
+        this.acquireTimeoutNanos = executionConfiguration.getAcquireTimeout().toNanos();
+    }
+
+    public <T> T execute(Supplier<T> task) {
+        return execute(1, task);
+    }
+
+    /**
+     * Пакетный расчёт на всех потоках BatchExecutor (сетка предложений)
+     */
+    public <T> T executeBatch(Supplier<T> task) {
+        return execute(batchParallelism, task);
+    }
+
+    /**
+     * Пакетный расчёт items элементов на BatchExecutor: занимает не больше мест, чем элементов
+     */
+    public <T> T executeBatch(int items, Supplier<T> task) {
+        return execute(Math.min(items, batchParallelism), task);
+    }
+
+    /**
+     * Место для расчёта, который продолжается после возврата из метода контроллера (потоковый ответ).
+     * Место нужно освободить вызовом close после записи ответа; повторный close ничего не делает.
+     */
+    public Permit acquire() {
+        if (permits == null) {
+            return NO_PERMIT;
+        }
+        acquire(1);
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+    }
+
+    private <T> T execute(int weight, Supplier<T> task) {
+        if (permits == null) {
+            return task.get();
+        }
+        // Больше maxConcurrentRequests мест получить нельзя, пакет занимает все места
+        int count = Math.max(1, Math.min(weight, maxPermits));
+        acquire(count);
+        try {
+            return task.get();
+        } finally {
+            permits.release(count);
+        }
+    }
+
+    private void acquire(int count) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(count, acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new OverloadException(List.of(new ExceptionReasons("request",
+                    "Too many requests are being processed. Try again later.")));
+        }
+    }
+
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -2,15 +2,33 @@ package com.project.conveyor.service;
 
 import com.project.conveyor.model.CreditDTO;
 import com.project.conveyor.model.LoanApplicationRequestDTO;
+import com.project.conveyor.model.LoanOfferGridRequestDTO;
+import com.project.conveyor.model.LoanOfferGridRowDTO;
+import com.project.conveyor.model.LoanOffersBatchItemDTO;
 import com.project.conveyor.model.LoanOfferDTO;
+import com.project.conveyor.model.PrepaymentRequestDTO;
 import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.ScoringMode;
 import org.jetbrains.annotations.NotNull;
-import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+/**
+ * Бизнес-логика конвейера. Методы возвращают результаты расчёта, а не HTTP-ответы,
+ * поэтому сервис используется и servlet-, и reactive-контроллером.
+ */
 public interface ConveyorService{
 
-    @NotNull ResponseEntity<List<LoanOfferDTO>> getLoanOffers(@NotNull LoanApplicationRequestDTO request);
-    @NotNull ResponseEntity<CreditDTO> calculationLoanParams(@NotNull ScoringDataDTO request);
+    @NotNull List<LoanOfferDTO> getLoanOffers(@NotNull LoanApplicationRequestDTO request);
+    @NotNull List<LoanOffersBatchItemDTO> getLoanOffersBatch(@NotNull List<LoanApplicationRequestDTO> requests);
+    @NotNull List<LoanOfferGridRowDTO> getLoanOfferGrid(@NotNull LoanOfferGridRequestDTO request);
+    @NotNull CreditDTO calculationLoanParams(@NotNull ScoringDataDTO request, @NotNull ScoringMode mode);
+    @NotNull CreditDTO calculationMaxAmount(@NotNull ScoringDataDTO request, BigDecimal maxMonthlyPayment, @NotNull ScoringMode mode);
+    @NotNull StreamedCredit calculationLoanParamsStream(@NotNull ScoringDataDTO request, @NotNull ScoringMode mode);
+    @NotNull ScheduleJob calculationLoanParamsAsync(@NotNull ScoringDataDTO request, @NotNull ScoringMode mode);
+    @NotNull Optional<ScheduleJob> getScheduleJob(@NotNull UUID jobId);
+    @NotNull CreditDTO calculationPrepayment(@NotNull PrepaymentRequestDTO request);
 }
@@ -1,137 +1,120 @@
 package com.project.conveyor.service;
 
-import com.project.conveyor.config.BasicConfiguration;
-import com.project.conveyor.config.PrescoringConfiguration;
-import com.project.conveyor.config.ScoringConfiguration;
+import com.project.conveyor.config.BatchConfiguration;
 import com.project.conveyor.exception.PrescoringException;
+import com.project.conveyor.exception.RejectionException;
 import com.project.conveyor.exception.ScoringException;
+import com.project.conveyor.metrics.ConveyorMetrics;
+import com.project.conveyor.metrics.ConveyorMetrics.Operation;
+import com.project.conveyor.metrics.ConveyorMetrics.Stage;
 import com.project.conveyor.model.*;
-import com.project.conveyor.model.enums.EmploymentStatus;
-import com.project.conveyor.model.enums.Gender;
-import com.project.conveyor.model.enums.MaritalStatus;
-import com.project.conveyor.model.enums.Position;
+import com.project.conveyor.model.enums.PrepaymentType;
+import com.project.conveyor.model.enums.ScoringMode;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @ConfigurationProperties
 public class ConveyorServiceImpl implements ConveyorService {
 
-    private final BasicConfiguration basicConfiguration;
-    private final PrescoringConfiguration prescoringConfiguration;
-    private final ScoringConfiguration scoringConfiguration;
+    private final ConveyorSettingsHolder settingsHolder;
+    private final AnnuityCalculator annuityCalculator;
+    private final LoanOfferCache loanOfferCache;
+    private final BatchConfiguration batchConfiguration;
+    private final BatchExecutor batchExecutor;
+    private final PaymentScheduleEngine paymentScheduleEngine;
+    private final ScoringRules scoringRules;
+    private final ScheduleJobs scheduleJobs;
+    private final ConveyorMetrics metrics;
 
-    private void prescoring(LoanApplicationRequestDTO request) {
-
-        List<ExceptionReasons> reasons = new ArrayList<>();
+    /**
+     * Сервис для прогрева JIT (WarmUpRunner): тот же код, настройки, движок графика и пакетный исполнитель,
+     * но переданные кэши коэффициентов аннуитета и предложений, правила скоринга без статистики
+     * и отключённые метрики
+     */
+    ConveyorServiceImpl forWarmUp(AnnuityCalculator annuityCalculator, LoanOfferCache loanOfferCache) {
+        return new ConveyorServiceImpl(settingsHolder,
+                annuityCalculator,
+                loanOfferCache,
+                batchConfiguration,
+                batchExecutor,
+                paymentScheduleEngine,
+                ScoringRules.withoutStatistics(),
+                scheduleJobs,
+                ConveyorMetrics.disabled());
+    }
 
-        String firstName = request.getFirstName();
-        boolean checkFirstName = firstName.matches("^[a-zA-Z]{2,30}");
-        if (!checkFirstName) {
-            reasons.add(new ExceptionReasons("firstName",
-                    "Invalid first name. (from 2 to 30 Latin letters)"));
-        }
+    void prescoring(LoanApplicationRequestDTO request, ConveyorSettings settings) {
+        List<ExceptionReasons> reasons = validate(request, settings);
+        if (!reasons.isEmpty()) throw new PrescoringException(reasons);
+    }
 
-        String lastName = request.getLastName();
-        boolean checkLastName =
-                lastName.matches("^[a-zA-Z]{2,30}");
-        if (!checkLastName) {
-            reasons.add(new ExceptionReasons("lastName",
-                    "Invalid last name. (from 2 to 30 Latin letters)"));
+    private List<ExceptionReasons> validate(LoanApplicationRequestDTO request, ConveyorSettings settings) {
+        List<ExceptionReasons> reasons = metrics.time(Stage.PRESCORING,
+                () -> settings.getPrescoringValidator().validate(request));
+        if (reasons.isEmpty()) {
+            metrics.recordApplication(Operation.OFFERS, request.getAmount(), request.getTerm());
+        } else {
+            metrics.recordRejections(Stage.PRESCORING, reasons);
         }
+        return reasons;
+    }
 
-        String middleName = request.getMiddleName();
-        boolean checkMiddleName =
-                middleName.matches("^[a-zA-Z]{2,30}");
-        if (!checkMiddleName) {
-            reasons.add(new ExceptionReasons("middleName",
-                    "Invalid middle name. (from 2 to 30 Latin letters)"));
-        }
+    private BigDecimal annuityRatio(BigDecimal rate, int term) {
+        return metrics.time(Stage.ANNUITY, () -> annuityCalculator.annuityRatio(rate, term));
+    }
 
-        BigDecimal requestAmount = request.getAmount();
-        int resultCompareTo = requestAmount.compareTo(prescoringConfiguration.getMinRequestedAmount());
-        boolean checkAmount = resultCompareTo >= 0;
-        if (!checkAmount) {
-            reasons.add(new ExceptionReasons("amount",
-                    "Invalid amount. (a real number greater than or equal to 10000)"));
-        }
+    LoanOfferDTO createLoanOfferDTO(ConveyorSettings settings,
+                                    Long applicationId,
+                                    BigDecimal requestedAmount,
+                                    Integer term,
+                                    Boolean isInsuranceEnabled,
+                                    Boolean isSalaryClient) {
 
-        Integer term = request.getTerm();
-        boolean checkTerm = term >= prescoringConfiguration.getMinTerm();
-        if (!checkTerm) {
-            reasons.add(new ExceptionReasons("term",
-                    "Invalid term. (an integer greater than or equal to 6)"));
-        }
-
-        LocalDate birthDate = request.getBirthdate();
-        int age = birthDate.until(LocalDate.now()).getYears();
-        boolean checkAge = age >= prescoringConfiguration.getMinAge();
-        if (!checkAge) {
-            reasons.add(new ExceptionReasons("birthdate",
-                    "Invalid birthdate. (in the format yyyy-mm-dd, no later than 18 years from the current day)"));
-        }
+        BigDecimal rate = offerRate(settings, isInsuranceEnabled, isSalaryClient);
+        return createLoanOfferDTO(applicationId,
+                requestedAmount,
+                term,
+                rate,
+                annuityRatio(rate, term),
+                isInsuranceEnabled,
+                isSalaryClient);
+    }
 
-        String email = request.getEmail();
-        boolean checkEmail = email.matches("[\\w\\.]{2,50}@[\\w\\.]{2,20}");
-        if (!checkEmail) {
-            reasons.add(new ExceptionReasons("email",
-                    "Invalid email."));
-        }
+    private static BigDecimal offerRate(ConveyorSettings settings, boolean isInsuranceEnabled, boolean isSalaryClient) {
+        BigDecimal rate = settings.getDefaultRate();
 
-        String passportSeries = request.getPassportSeries();
-        boolean checkPassportSeries = passportSeries.matches("[0-9]{4}");
-        if (!checkPassportSeries) {
-            reasons.add(new ExceptionReasons("passportSeries",
-                    "Invalid passport series. (4 digits)"));
+        if (isInsuranceEnabled) {
+            rate = rate.subtract(settings.getInsuranceRateDiscount()); // rate - 3.0
         }
-
-        String passportNumber = request.getPassportNumber();
-        boolean checkPassportNumber = passportNumber.matches("[0-9]{6}");
-        if (!checkPassportNumber) {
-            reasons.add(new ExceptionReasons("passportNumber",
-                    "Invalid passport number. (6 digits)"));
+        if (isSalaryClient) {
+            rate = rate.subtract(settings.getSalaryClientRateDiscount()); // rate - 1.0
         }
-        if (!reasons.isEmpty()) throw new PrescoringException(reasons);
+        return rate;
     }
 
     private LoanOfferDTO createLoanOfferDTO(Long applicationId,
                                             BigDecimal requestedAmount,
                                             Integer term,
+                                            BigDecimal rate,
+                                            BigDecimal annuityRatio,
                                             Boolean isInsuranceEnabled,
                                             Boolean isSalaryClient) {
 
-        BigDecimal rate = basicConfiguration.getDefaultRate();
-
-        if (isInsuranceEnabled) {
-            rate = rate.subtract(BigDecimal.valueOf(3.0)); // rate - 3.0
-        }
-        if (isSalaryClient) {
-            rate = rate.subtract(BigDecimal.valueOf(1.0)); // rate - 1.0
-        }
-
-        /*
-        Расчёт коэффициента аннуитета по формуле:
-        Месячная ставка * (1 + Месячная ставка)^Кол-во платежей / ((1 + Месячная ставка)^Кол-во платежей - 1)
-         */
-        BigDecimal monthlyRate = rate.divide(BigDecimal.valueOf(12 * 100), 20, RoundingMode.HALF_EVEN);
-        BigDecimal bracketsInFormula = monthlyRate.add(BigDecimal.valueOf(1)).pow(term);
-        // Числитель формулы
-        BigDecimal numeratorAnnuityRatioCalculation = monthlyRate.multiply(bracketsInFormula);
-        // Знаменатель формулы
-        BigDecimal denominatorAnnuityRatioCalculation = bracketsInFormula.subtract(BigDecimal.valueOf(1));
-        BigDecimal annuityRatio =
-                numeratorAnnuityRatioCalculation.divide(denominatorAnnuityRatioCalculation, 20, RoundingMode.HALF_EVEN);
-
         /*
         Расчёт месячного аннуитетного платежа по формуле:
         Сумма кредита * Коэффициент аннуитета
@@ -156,83 +139,187 @@ public class ConveyorServiceImpl implements ConveyorService {
         );
     }
 
-    public @NotNull ResponseEntity<List<LoanOfferDTO>> getLoanOffers(@NotNull LoanApplicationRequestDTO request) {
-        long applicationId = basicConfiguration.getApplicationId();
-        List<LoanOfferDTO> loanOfferDTOList = new ArrayList<>();
+    public @NotNull List<LoanOfferDTO> getLoanOffers(@NotNull LoanApplicationRequestDTO request) {
+        ConveyorSettings settings = settingsHolder.get();
+        prescoring(request, settings);
+        return createLoanOffers(request, settings);
+    }
 
-        prescoring(request);
+    /**
+     * Пакетный расчёт предложений: каждая заявка обрабатывается независимо,
+     * ошибки прескоринга и любые другие ошибки обработки заявки возвращаются в ответе по конкретной заявке
+     * и не прерывают весь пакет.
+     */
+    public @NotNull List<LoanOffersBatchItemDTO> getLoanOffersBatch(
+            @NotNull List<LoanApplicationRequestDTO> requests) {
+
+        int maxBatchSize = batchConfiguration.getMaxBatchSize();
+        if (requests.size() > maxBatchSize) {
+            List<ExceptionReasons> reasons = List.of(new ExceptionReasons("requests",
+                    "Too many applications in a batch. (no more than " + maxBatchSize + ")"));
+            metrics.recordRejections(Stage.PRESCORING, reasons);
+            throw new PrescoringException(reasons);
+        }
+        ConveyorSettings settings = settingsHolder.get();
+        return batchExecutor.map(requests, request -> createLoanOffersBatchItem(request, settings));
+    }
+
+    /**
+     * Сетка предложений: для каждой суммы из диапазона (строка) и каждого срока (ячейка) - четыре
+     * предложения, как в getLoanOffers. Коэффициенты аннуитета зависят только от ставки и срока,
+     * поэтому считаются один раз для всей сетки, последовательно по срокам
+     * (см. AnnuityCalculator.annuityRatios); строки рассчитываются параллельно.
+     */
+    public @NotNull List<LoanOfferGridRowDTO> getLoanOfferGrid(@NotNull LoanOfferGridRequestDTO request) {
+        ConveyorSettings settings = settingsHolder.get();
+        List<ExceptionReasons> reasons = metrics.time(Stage.PRESCORING,
+                () -> settings.getPrescoringValidator().validateGrid(request));
+        if (!reasons.isEmpty()) {
+            metrics.recordRejections(Stage.PRESCORING, reasons);
+            throw new PrescoringException(reasons);
+        }
+
+        BigDecimal minAmount = request.getMinAmount();
+        BigDecimal amountStep = request.getAmountStep();
+        int minTerm = request.getMinTerm();
+        int maxTerm = request.getMaxTerm();
+        int termStep = request.getTermStep();
+
+        int maxGridCells = batchConfiguration.getMaxGridCells();
+        BigDecimal amountCount = request.getMaxAmount().subtract(minAmount).divideToIntegralValue(amountStep).add(BigDecimal.ONE);
+        long termCount = ((long) maxTerm - minTerm) / termStep + 1;
+        if (amountCount.multiply(BigDecimal.valueOf(termCount)).compareTo(BigDecimal.valueOf(maxGridCells)) > 0) {
+            List<ExceptionReasons> sizeReasons = List.of(new ExceptionReasons("grid",
+                    "Too many grid cells. (no more than " + maxGridCells + ")"));
+            metrics.recordRejections(Stage.PRESCORING, sizeReasons);
+            throw new PrescoringException(sizeReasons);
+        }
+
+        List<BigDecimal> amounts = new ArrayList<>(amountCount.intValueExact());
+        for (int i = 0; i < amountCount.intValueExact(); i++) {
+            amounts.add(minAmount.add(amountStep.multiply(BigDecimal.valueOf(i))));
+        }
+
+        // Варианты в том же порядке, что и в getLoanOffers: (страховка, зарплатный клиент)
+        boolean[][] variants = {{true, true}, {true, false}, {false, true}, {false, false}};
+        BigDecimal[] rates = new BigDecimal[variants.length];
+        List<List<BigDecimal>> annuityRatios = new ArrayList<>(variants.length);
+        for (int v = 0; v < variants.length; v++) {
+            BigDecimal rate = offerRate(settings, variants[v][0], variants[v][1]);
+            rates[v] = rate;
+            annuityRatios.add(metrics.time(Stage.ANNUITY,
+                    () -> annuityCalculator.annuityRatios(rate, minTerm, maxTerm, termStep)));
+        }
+
+        long applicationId = settings.getApplicationId();
+        List<LoanOfferGridRowDTO> rows = batchExecutor.map(amounts, amount -> {
+            List<LoanOfferGridCellDTO> cells = new ArrayList<>((int) termCount);
+            for (int j = 0; j < termCount; j++) {
+                int term = minTerm + j * termStep;
+                List<LoanOfferDTO> offers = new ArrayList<>(variants.length);
+                for (int v = 0; v < variants.length; v++) {
+                    offers.add(createLoanOfferDTO(applicationId,
+                            amount,
+                            term,
+                            rates[v],
+                            annuityRatios.get(v).get(j),
+                            variants[v][0],
+                            variants[v][1]));
+                }
+                cells.add(new LoanOfferGridCellDTO(term, offers));
+            }
+            return new LoanOfferGridRowDTO(amount, cells);
+        });
+        return rows;
+    }
+
+    private LoanOffersBatchItemDTO createLoanOffersBatchItem(LoanApplicationRequestDTO request,
+                                                             ConveyorSettings settings) {
+        if (request == null) {
+            List<ExceptionReasons> reasons = List.of(new ExceptionReasons("request", "Empty application."));
+            metrics.recordRejections(Stage.PRESCORING, reasons);
+            return new LoanOffersBatchItemDTO(null, reasons);
+        }
+        try {
+            List<ExceptionReasons> reasons = validate(request, settings);
+            if (!reasons.isEmpty()) {
+                return new LoanOffersBatchItemDTO(null, reasons);
+            }
+            return new LoanOffersBatchItemDTO(createLoanOffers(request, settings), null);
+        } catch (RejectionException e) {
+            return new LoanOffersBatchItemDTO(null, e.getReasons());
+        } catch (RuntimeException e) {
+            // Только неидентифицирующие поля: в заявке персональные и паспортные данные
+            log.warn("Batch application could not be processed (amount {}, term {})",
+                    request.getAmount(), request.getTerm(), e);
+            return new LoanOffersBatchItemDTO(null,
+                    List.of(new ExceptionReasons("request", "Application could not be processed.")));
+        }
+    }
+
+    private List<LoanOfferDTO> createLoanOffers(LoanApplicationRequestDTO request, ConveyorSettings settings) {
+        return loanOfferCache.get(settings.getVersion(), request.getAmount(), request.getTerm(),
+                () -> calculateLoanOffers(request, settings));
+    }
+
+    private List<LoanOfferDTO> calculateLoanOffers(LoanApplicationRequestDTO request, ConveyorSettings settings) {
+        long applicationId = settings.getApplicationId();
+        List<LoanOfferDTO> loanOfferDTOList = new ArrayList<>();
 
         BigDecimal requestedAmount = request.getAmount();
         int term = request.getTerm();
 
-        LoanOfferDTO firstOffer = createLoanOfferDTO(applicationId,
+        LoanOfferDTO firstOffer = createLoanOfferDTO(settings,
+                applicationId,
                 requestedAmount,
                 term,
                 true,
                 true);
         loanOfferDTOList.add(firstOffer);
 
-        LoanOfferDTO secondOffer = createLoanOfferDTO(applicationId,
+        LoanOfferDTO secondOffer = createLoanOfferDTO(settings,
+                applicationId,
                 requestedAmount,
                 term,
                 true,
                 false);
         loanOfferDTOList.add(secondOffer);
 
-        LoanOfferDTO thirdOffer = createLoanOfferDTO(applicationId,
+        LoanOfferDTO thirdOffer = createLoanOfferDTO(settings,
+                applicationId,
                 requestedAmount,
                 term,
                 false,
                 true);
         loanOfferDTOList.add(thirdOffer);
 
-        LoanOfferDTO fourthOffer = createLoanOfferDTO(applicationId,
+        LoanOfferDTO fourthOffer = createLoanOfferDTO(settings,
+                applicationId,
                 requestedAmount,
                 term,
                 false,
                 false);
         loanOfferDTOList.add(fourthOffer);
 
-        return ResponseEntity.ok(loanOfferDTOList);
-
+        return loanOfferDTOList;
     }
 
-    private void scoring(ScoringDataDTO request) {
-        EmploymentDTO employment = request.getEmployment();
-
-        List<ExceptionReasons> reasons = new ArrayList<>();
-
-        if (employment.getEmploymentStatus() == EmploymentStatus.UNEMPLOYED) {
-            reasons.add(new ExceptionReasons("employmentStatus",
-                    "You're employment status is UNEMPLOYED."));
-        }
-
-        // limitRequestedAmount = salary * 20.0
-        BigDecimal limitRequestedAmount = employment.getSalary().multiply(scoringConfiguration.getLoanToSalaryRatio());
-        if (limitRequestedAmount.compareTo(request.getAmount()) < 0) {
-            reasons.add(new ExceptionReasons("amount/salary",
-                    "The loan amount is more than 20 salaries."));
-        }
-
-        LocalDate birthDate = request.getBirthdate();
-        int age = birthDate.until(LocalDate.now()).getYears();
-        if (age < scoringConfiguration.getMinAge() || age > scoringConfiguration.getMaxAge()) {
-            reasons.add(new ExceptionReasons("birthdate",
-                    "Age less than 20 or more than 60 years."));
-        }
-
-        int workExperienceTotal = employment.getWorkExperienceTotal();
-        if (workExperienceTotal < scoringConfiguration.getMinWorkExperienceTotal()) {
-            reasons.add(new ExceptionReasons("workExperienceTotal",
-                    "Total experience less than 12 months."));
+    void scoring(ScoringDataDTO request, ConveyorSettings settings, ScoringMode mode) {
+        List<ExceptionReasons> reasons = scoringRules.check(request, settings, mode);
+        if (!reasons.isEmpty()) {
+            metrics.recordRejections(Stage.SCORING, reasons);
+            throw new ScoringException(reasons);
         }
+    }
 
-        int workExperienceCurrent = employment.getWorkExperienceCurrent();
-        if (workExperienceCurrent <= scoringConfiguration.getMinWorkExperienceCurrent()) {
-            reasons.add(new ExceptionReasons("workExperienceCurrent",
-                    "Current experience less than 3 months."));
-        }
-        if (!reasons.isEmpty()) throw new ScoringException(reasons);
+    /**
+     * Скоринг заявки на расчёт кредита, пришедшей в API: прошедшая скоринг заявка учитывается в метриках
+     * conveyor.application.*. Пересчёт портфеля (calculationLoanSummary) вызывает scoring напрямую -
+     * его анкеты не заявки и в распределение не попадают.
+     */
+    private void scoringApplication(ScoringDataDTO request, ConveyorSettings settings, ScoringMode mode) {
+        scoring(request, settings, mode);
+        metrics.recordApplication(Operation.CALCULATION, request.getAmount(), request.getTerm());
     }
 
     /**
@@ -246,86 +333,18 @@ public class ConveyorServiceImpl implements ConveyorService {
      * @param dateFirstPayment дата первого платежа по кредиту(спустя месяц после получения кредита)
      * @return график платежей, состоящий из номера, даты и общей суммы платежа, доли погашения процентов и доли погашения долга от суммы, остатка долга
      */
-    private List<PaymentScheduleElement> paymentScheduleCalculation(BigDecimal amount,
-                                                                    BigDecimal rate,
-                                                                    Integer term,
-                                                                    BigDecimal monthlyPayment,
-                                                                    LocalDate dateFirstPayment) {
-
-
-        List<PaymentScheduleElement> paymentSchedule = new ArrayList<>();
-
-        LocalDate datePayment = dateFirstPayment;
-        BigDecimal remainingDebt = amount;
-
-        for (int i = 0; i < term; i++) {
-
-            // Количество дней, за прошедший месяц (нужно для вычисления днейвной ставки)
-            int lengthMonth = datePayment.minusMonths(1).lengthOfMonth();
-
-
-            BigDecimal rateDecimal = rate.divide(BigDecimal.valueOf(100), 20, RoundingMode.HALF_EVEN);
-
-            // Дневной коэффициент из формулы: Количество дней в месяце / Количество дней в году
-            BigDecimal dailyCoef;
-
-            // Проверка на переход в новый год (год, возможно, был/будет високосным => изменится дневная ставка)
-            if (datePayment.getMonthValue() == 1 && i > 0) {
-                boolean isLeapBeforeYear = datePayment.minusYears(1).isLeapYear();
-                int lengthBeforeYear = (isLeapBeforeYear) ? 366: 365;
-                boolean isLeapNowYear = datePayment.isLeapYear();
-                int lengthNowYear = (isLeapNowYear) ? 366: 365;
-
-                LocalDate monthBefore = datePayment.minusMonths(1);
-                // Количество дней от последнего платежа до окончания года
-                int daysUntilNextMonth = monthBefore.until(datePayment.withDayOfMonth(1)).getDays() - 1;
-                // Количество дней от начала нового года до следующего платежа
-                int daysInNowMonth = datePayment.withDayOfMonth(1).until(datePayment).getDays() + 1;
-
-                // Расчёт дневного коэффициента прошлого и нового года
-                BigDecimal dailyCoefBeforeYear =
-                        BigDecimal.valueOf(daysUntilNextMonth).divide(BigDecimal.valueOf(lengthBeforeYear), 20, RoundingMode.HALF_EVEN);
-                BigDecimal dailyCoefNowYear =
-                        BigDecimal.valueOf(daysInNowMonth).divide(BigDecimal.valueOf(lengthNowYear), 20, RoundingMode.HALF_EVEN);
-                dailyCoef = dailyCoefBeforeYear.add(dailyCoefNowYear);
-            }
-            else {
-                boolean isLeap = datePayment.isLeapYear();
-                int lengthYear = (isLeap) ? 366: 365;
-                dailyCoef = BigDecimal.valueOf(lengthMonth).divide(BigDecimal.valueOf(lengthYear), 20, RoundingMode.HALF_EVEN);
-            }
-
-            /*
-            Вычисление суммы процентов по формуле:
-            Остаток долга × Процентная ставка × Количество дней в месяце / Количество дней в году
-             */
-            BigDecimal interestPayment =
-                    remainingDebt.multiply(rateDecimal).multiply(dailyCoef).setScale(2, RoundingMode.HALF_EVEN);
-
-            if (i == term - 1) {        /* проверка на последний платёж */
-                monthlyPayment = remainingDebt.add(interestPayment);        /* последний платёж состоит из остатка долга + проценты */
-            }
-
-            BigDecimal debtPayment = monthlyPayment.subtract(interestPayment);
-            remainingDebt = remainingDebt.subtract(debtPayment);
-
-            if (i == term - 1) {
-                remainingDebt = BigDecimal.valueOf(0);
-            }
-
-            PaymentScheduleElement payment = new PaymentScheduleElement(i + 1,
-                    datePayment,
-                    monthlyPayment,
-                    interestPayment,
-                    debtPayment,
-                    remainingDebt);
-
-            datePayment = datePayment.plusMonths(1);
-
-            paymentSchedule.add(payment);
-        }
-
-        return paymentSchedule;
+    List<PaymentScheduleElement> paymentScheduleCalculation(BigDecimal amount,
+                                                            BigDecimal rate,
+                                                            Integer term,
+                                                            BigDecimal monthlyPayment,
+                                                            LocalDate dateFirstPayment) {
+
+        return metrics.time(Stage.SCHEDULE, () -> {
+            List<PaymentScheduleElement> paymentSchedule = new ArrayList<>(term);
+            paymentScheduleEngine.schedule(amount, rate, term, monthlyPayment, dateFirstPayment)
+                    .forEachRemaining(paymentSchedule::add);
+            return paymentSchedule;
+        });
     }
 
     /**
@@ -338,23 +357,31 @@ public class ConveyorServiceImpl implements ConveyorService {
      * @param isSalaryClient булево значение является ли клиент зарплатным
      * @return составляется кредитное предложение с графиком платежей
      */
-    private CreditDTO createCreditDTO(BigDecimal amount,
-                                      Integer term,
-                                      BigDecimal rate,
-                                      Boolean isInsuranceEnabled,
-                                      Boolean isSalaryClient) {
+    CreditDTO createCreditDTO(BigDecimal amount,
+                              Integer term,
+                              BigDecimal rate,
+                              Boolean isInsuranceEnabled,
+                              Boolean isSalaryClient) {
+
+        CreditDTO credit = createCreditSummary(amount, term, rate, isInsuranceEnabled, isSalaryClient);
+        credit.setPaymentSchedule(paymentScheduleCalculation(amount,
+                rate,
+                term,
+                credit.getMonthlyPayment(),
+                firstPaymentDate()));
+        return credit;
+    }
 
-        /*
-        Расчёт коэффициента аннуитета по формуле:
-        Месячная ставка * (1 + Месячная ставка)^Кол-во платежей / ((1 + Месячная ставка)^Кол-во платежей - 1)
-         */
-        BigDecimal monthlyRate = rate.divide(BigDecimal.valueOf(12 * 100), 20, RoundingMode.HALF_EVEN);
-        BigDecimal bracketsInFormula = monthlyRate.add(BigDecimal.valueOf(1)).pow(term);
-        // Числитель формулы
-        BigDecimal numeratorAnnuityRatioCalculation = monthlyRate.multiply(bracketsInFormula);
-        // Знаменатель формулы
-        BigDecimal denominatorAnnuityRatioCalculation = bracketsInFormula.subtract(BigDecimal.valueOf(1));
-        BigDecimal annuityRatio = numeratorAnnuityRatioCalculation.divide(denominatorAnnuityRatioCalculation, 20, RoundingMode.HALF_EVEN);
+    /**
+     * Параметры кредита без графика платежей
+     */
+    private CreditDTO createCreditSummary(BigDecimal amount,
+                                          Integer term,
+                                          BigDecimal rate,
+                                          Boolean isInsuranceEnabled,
+                                          Boolean isSalaryClient) {
+
+        BigDecimal annuityRatio = annuityRatio(rate, term);
 
         /*
         Расчёт месячного аннуитетного платежа по формуле:
@@ -365,8 +392,6 @@ public class ConveyorServiceImpl implements ConveyorService {
         BigDecimal psk = monthlyPayment.multiply(BigDecimal.valueOf(term)).subtract(amount)
                 .divide(amount, 20, RoundingMode.HALF_EVEN).multiply(BigDecimal.valueOf(100)).setScale(2, RoundingMode.HALF_EVEN);
 
-        LocalDate dateFirstPayment = LocalDate.now().plusMonths(1);
-
         return new CreditDTO(
                 amount,
                 term,
@@ -375,71 +400,241 @@ public class ConveyorServiceImpl implements ConveyorService {
                 psk,
                 isInsuranceEnabled,
                 isSalaryClient,
-                paymentScheduleCalculation(amount,
-                        rate,
-                        term,
-                        monthlyPayment,
-                        dateFirstPayment)
+                null
         );
     }
 
-    public @NotNull ResponseEntity<CreditDTO> calculationLoanParams(@NotNull ScoringDataDTO request) {
+    /**
+     * Параметры кредита без графика платежей по действующим настройкам (пересчёт портфеля, RepricingJob).
+     * Ошибки скоринга выбрасываются из этого метода.
+     */
+    CreditDTO calculationLoanSummary(ScoringDataDTO request, ConveyorSettings settings) {
+        scoring(request, settings, ScoringMode.ALL_REASONS);
+        BigDecimal rate = settings.getRateAdjustmentTable().rate(request);
+        return createCreditSummary(request.getAmount(),
+                request.getTerm(),
+                rate,
+                request.getIsInsuranceEnabled(),
+                request.getIsSalaryClient());
+    }
 
-        BigDecimal defaultRate = basicConfiguration.getDefaultRate();
+    private static LocalDate firstPaymentDate() {
+        return LocalDate.now().plusMonths(1);
+    }
 
-        scoring(request);
+    public @NotNull CreditDTO calculationLoanParams(@NotNull ScoringDataDTO request, @NotNull ScoringMode mode) {
 
-        EmploymentDTO employment = request.getEmployment();
-        BigDecimal rate = defaultRate;
+        ConveyorSettings settings = settingsHolder.get();
+        scoringApplication(request, settings, mode);
 
-        EmploymentStatus employmentStatus = employment.getEmploymentStatus();
-        if (employmentStatus == EmploymentStatus.SELF_EMPLOYED) {
-            rate = rate.add(BigDecimal.valueOf(1));
-        }
-        if (employmentStatus == EmploymentStatus.BUSINESS_OWNER) {
-            rate = rate.add(BigDecimal.valueOf(3));
-        }
+        BigDecimal rate = settings.getRateAdjustmentTable().rate(request);
+        BigDecimal amount = request.getAmount();
+        int term = request.getTerm();
+        boolean isInsuranceEnabled = request.getIsInsuranceEnabled();
+        boolean isSalaryClient = request.getIsSalaryClient();
 
-        Position position = employment.getPosition();
-        if (position == Position.MIDDLE_MANAGER) {
-            rate = rate.subtract(BigDecimal.valueOf(2));
-        }
-        if (position == Position.TOP_MANAGER) {
-            rate = rate.subtract(BigDecimal.valueOf(4));
-        }
+        return createCreditDTO(amount, term, rate, isInsuranceEnabled, isSalaryClient);
 
-        MaritalStatus maritalStatus = request.getMaritalStatus();
-        if (maritalStatus == MaritalStatus.MARRIED) {
-            rate = rate.subtract(BigDecimal.valueOf(3));
-        }
-        if (maritalStatus == MaritalStatus.DIVORCED) {
-            rate = rate.add(BigDecimal.valueOf(1));
-        }
+    }
 
-        if (request.getDependentAmount() > 1) {
-            rate = rate.add(BigDecimal.valueOf(1));
+    /**
+     * Расчёт кредита на максимальную сумму, которая проходит проверку суммы по зарплате
+     * (scoring-constants.loanToSalaryRatio) и, если задан maxMonthlyPayment, даёт ежемесячный платёж не больше него.
+     * Сумма из заявки не используется: ставка от суммы не зависит, поэтому сумма находится обращением формулы
+     * аннуитета (maxAmount), заносится в заявку, и дальше расчёт идёт как в calculationLoanParams.
+     * Если найденная сумма меньше минимальной суммы заявки, выбрасывается ошибка прескоринга;
+     * остальные правила скоринга проверяются как обычно, ошибки скоринга выбрасываются из этого метода.
+     */
+    public @NotNull CreditDTO calculationMaxAmount(@NotNull ScoringDataDTO request,
+                                                   BigDecimal maxMonthlyPayment,
+                                                   @NotNull ScoringMode mode) {
+
+        ConveyorSettings settings = settingsHolder.get();
+        if (maxMonthlyPayment != null && maxMonthlyPayment.signum() <= 0) {
+            List<ExceptionReasons> reasons = List.of(new ExceptionReasons("maxMonthlyPayment",
+                    "Invalid monthly payment. (a positive number)"));
+            metrics.recordRejections(Stage.PRESCORING, reasons);
+            throw new PrescoringException(reasons);
         }
 
-        Gender gender = request.getGender();
-        LocalDate birthDate = request.getBirthdate();
-        int age = birthDate.until(LocalDate.now()).getYears();
-        if (gender == Gender.FEMALE && age >= 35 && age <= 60) {
-            rate = rate.subtract(BigDecimal.valueOf(3));
-        }
-        if (gender == Gender.MALE && age >= 30 && age <= 55) {
-            rate = rate.subtract(BigDecimal.valueOf(3));
+        BigDecimal rate = settings.getRateAdjustmentTable().rate(request);
+        int term = request.getTerm();
+        // limitRequestedAmount = salary * 20.0, как в проверке суммы на скоринге
+        BigDecimal limitRequestedAmount = request.getEmployment().getSalary().multiply(settings.getLoanToSalaryRatio())
+                .setScale(2, RoundingMode.DOWN);
+        BigDecimal amount = maxMonthlyPayment == null
+                ? limitRequestedAmount
+                : limitRequestedAmount.min(maxAmount(annuityRatio(rate, term), maxMonthlyPayment));
+        List<ExceptionReasons> reasons = settings.getPrescoringValidator().validateAmount(amount);
+        if (!reasons.isEmpty()) {
+            metrics.recordRejections(Stage.PRESCORING, reasons);
+            throw new PrescoringException(reasons);
         }
-        if (gender == Gender.NON_BINARY) {
-            rate = rate.add(BigDecimal.valueOf(3));
+
+        // Скоринг копии с найденной суммой: заявка вызывающего не меняется
+        scoringApplication(request.withAmount(amount), settings, mode);
+        boolean isInsuranceEnabled = request.getIsInsuranceEnabled();
+        boolean isSalaryClient = request.getIsSalaryClient();
+
+        return createCreditDTO(amount, term, rate, isInsuranceEnabled, isSalaryClient);
+    }
+
+    /**
+     * Наибольшая сумма в копейках, для которой платёж Сумма × Коэффициент аннуитета, округлённый HALF_EVEN
+     * до копеек, не больше maxMonthlyPayment. Обращение формулы: (maxMonthlyPayment + 0.005) / Коэффициент
+     * с округлением вниз; если произведение попало ровно на половину копейки и округлилось вверх,
+     * сумма уменьшается на копейку.
+     */
+    static BigDecimal maxAmount(BigDecimal annuityRatio, BigDecimal maxMonthlyPayment) {
+        BigDecimal kopeck = BigDecimal.valueOf(1, 2);
+        BigDecimal amount = maxMonthlyPayment.add(BigDecimal.valueOf(5, 3)).divide(annuityRatio, 2, RoundingMode.DOWN);
+        while (amount.signum() > 0
+                && amount.multiply(annuityRatio).setScale(2, RoundingMode.HALF_EVEN).compareTo(maxMonthlyPayment) > 0) {
+            amount = amount.subtract(kopeck);
         }
+        return amount;
+    }
+
+    /**
+     * Потоковый вариант расчёта кредита: параметры кредита без графика и график, строки которого
+     * рассчитываются по мере обхода, поэтому расход памяти на запрос не зависит от срока кредита.
+     * Скоринг выполняется сразу, ошибки скоринга выбрасываются из этого метода.
+     */
+    public @NotNull StreamedCredit calculationLoanParamsStream(@NotNull ScoringDataDTO request, @NotNull ScoringMode mode) {
+
+        ConveyorSettings settings = settingsHolder.get();
+        scoringApplication(request, settings, mode);
 
+        BigDecimal rate = settings.getRateAdjustmentTable().rate(request);
         BigDecimal amount = request.getAmount();
         int term = request.getTerm();
         boolean isInsuranceEnabled = request.getIsInsuranceEnabled();
         boolean isSalaryClient = request.getIsSalaryClient();
 
-        CreditDTO response = createCreditDTO(amount, term, rate, isInsuranceEnabled, isSalaryClient);
-        return ResponseEntity.ok(response);
+        CreditDTO credit = createCreditSummary(amount, term, rate, isInsuranceEnabled, isSalaryClient);
+        Iterator<PaymentScheduleElement> paymentSchedule =
+                paymentScheduleEngine.schedule(amount, rate, term, credit.getMonthlyPayment(), firstPaymentDate());
+
+        return new StreamedCredit(credit, paymentSchedule);
+    }
+
+    /**
+     * Асинхронный вариант расчёта кредита: параметры кредита рассчитываются сразу, график платежей -
+     * в фоне (ScheduleJobs), поэтому время ответа не зависит от срока кредита.
+     * Скоринг выполняется сразу, ошибки скоринга выбрасываются из этого метода.
+     */
+    public @NotNull ScheduleJob calculationLoanParamsAsync(@NotNull ScoringDataDTO request, @NotNull ScoringMode mode) {
+
+        ConveyorSettings settings = settingsHolder.get();
+        scoringApplication(request, settings, mode);
+
+        BigDecimal rate = settings.getRateAdjustmentTable().rate(request);
+        BigDecimal amount = request.getAmount();
+        int term = request.getTerm();
+        boolean isInsuranceEnabled = request.getIsInsuranceEnabled();
+        boolean isSalaryClient = request.getIsSalaryClient();
+
+        CreditDTO credit = createCreditSummary(amount, term, rate, isInsuranceEnabled, isSalaryClient);
+        LocalDate dateFirstPayment = firstPaymentDate();
+        return scheduleJobs.submit(credit, () -> paymentScheduleCalculation(amount,
+                rate,
+                term,
+                credit.getMonthlyPayment(),
+                dateFirstPayment));
+    }
 
+    public @NotNull Optional<ScheduleJob> getScheduleJob(@NotNull UUID jobId) {
+        return scheduleJobs.find(jobId);
+    }
+
+    /**
+     * Пересчёт графика после досрочного погашения вместе с платежом paymentNumber.
+     * Строки 1 ... paymentNumber берутся из переданного графика без изменений, пересчитывается только остаток
+     * графика (PaymentScheduleEngine с firstIndex = paymentNumber) от остатка долга за вычетом досрочного погашения:
+     * REDUCE_PAYMENT - аннуитетный платёж на оставшийся срок, REDUCE_TERM - прежний платёж и срок,
+     * за который он погашает остаток. ПСК считается по фактическим платежам, включая досрочное погашение.
+     * Результат можно снова передать в этот метод, чтобы рассчитать несколько досрочных погашений.
+     */
+    public @NotNull CreditDTO calculationPrepayment(@NotNull PrepaymentRequestDTO request) {
+        ConveyorSettings settings = settingsHolder.get();
+        List<ExceptionReasons> reasons = metrics.time(Stage.PRESCORING,
+                () -> settings.getPrescoringValidator().validatePrepayment(request));
+        if (!reasons.isEmpty()) {
+            metrics.recordRejections(Stage.PRESCORING, reasons);
+            throw new PrescoringException(reasons);
+        }
+
+        CreditDTO credit = request.getCredit();
+        List<PaymentScheduleElement> paymentSchedule = credit.getPaymentSchedule();
+        BigDecimal rate = credit.getRate();
+        int term = credit.getTerm();
+        int paymentNumber = request.getPaymentNumber();
+        BigDecimal remainingDebt = (paymentNumber == 0
+                ? credit.getAmount()
+                : paymentSchedule.get(paymentNumber - 1).getRemainingDebt()).subtract(request.getAmount());
+
+        BigDecimal monthlyPayment;
+        int newTerm;
+        if (request.getType() == PrepaymentType.REDUCE_PAYMENT) {
+            monthlyPayment = remainingDebt.multiply(annuityRatio(rate, term - paymentNumber)).setScale(2, RoundingMode.HALF_EVEN);
+            newTerm = term;
+        } else {
+            monthlyPayment = credit.getMonthlyPayment();
+            newTerm = paymentNumber + remainingTerm(remainingDebt, rate, monthlyPayment, term - paymentNumber);
+        }
+
+        List<PaymentScheduleElement> newPaymentSchedule = metrics.time(Stage.SCHEDULE, () -> {
+            List<PaymentScheduleElement> schedule = new ArrayList<>(newTerm);
+            schedule.addAll(paymentSchedule.subList(0, paymentNumber));
+            paymentScheduleEngine.schedule(remainingDebt,
+                            rate,
+                            newTerm,
+                            monthlyPayment,
+                            paymentSchedule.get(paymentNumber).getDate(),
+                            paymentNumber)
+                    .forEachRemaining(schedule::add);
+            return schedule;
+        });
+
+        BigDecimal amount = credit.getAmount();
+        BigDecimal totalAmount = request.getAmount();
+        for (PaymentScheduleElement payment : newPaymentSchedule) {
+            totalAmount = totalAmount.add(payment.getTotalPayment());
+        }
+        BigDecimal psk = totalAmount.subtract(amount)
+                .divide(amount, 20, RoundingMode.HALF_EVEN).multiply(BigDecimal.valueOf(100)).setScale(2, RoundingMode.HALF_EVEN);
+
+        return new CreditDTO(
+                amount,
+                newTerm,
+                monthlyPayment,
+                rate,
+                psk,
+                credit.getIsInsuranceEnabled(),
+                credit.getIsSalaryClient(),
+                newPaymentSchedule
+        );
+    }
+
+    /**
+     * Количество платежей monthlyPayment, погашающих остаток долга, по формуле аннуитета:
+     * n = ln(Платёж / (Платёж - Остаток × Месячная ставка)) / ln(1 + Месячная ставка), округление вверх.
+     * Последний платёж графика погашает остаток, поэтому точности double достаточно.
+     * @param maxTerm оставшийся срок до досрочного погашения
+     */
+    static int remainingTerm(BigDecimal remainingDebt, BigDecimal rate, BigDecimal monthlyPayment, int maxTerm) {
+        double debt = remainingDebt.doubleValue();
+        double payment = monthlyPayment.doubleValue();
+        double monthlyRate = rate.doubleValue() / 1200;
+        double term;
+        if (monthlyRate == 0) {
+            term = debt / payment;
+        } else if (payment > debt * monthlyRate) {
+            term = Math.log(payment / (payment - debt * monthlyRate)) / Math.log1p(monthlyRate);
+        } else {
+            return maxTerm;
+        }
+        // Погрешность double не должна добавлять платёж, когда остаток погашается ровно за целое число платежей
+        return (int) Math.max(1, Math.min(maxTerm, Math.ceil(term - 1e-9)));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,80 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.BasicConfiguration;
+import com.project.conveyor.config.PrescoringConfiguration;
+import com.project.conveyor.config.RateRulesConfiguration;
+import com.project.conveyor.config.ScoringConfiguration;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Неизменяемый снимок параметров расчёта. Сервис получает снимок из ConveyorSettingsHolder
+ * один раз на запрос, поэтому весь расчёт идёт по одной версии настроек, даже если они
+ * обновились во время его выполнения.
+ * <p>
+ * version - счётчик обновлений в текущем процессе (после перезапуска снова 1), fingerprint - SHA-256
+ * от значений всех четырёх групп настроек: совпадает у снимков с одинаковым содержимым в любом процессе.
+ */
+@Value
+public class ConveyorSettings {
+    long version;
+    String fingerprint;
+
+    BigDecimal defaultRate;
+    long applicationId;
+    BigDecimal insuranceRateDiscount;
+    BigDecimal salaryClientRateDiscount;
+
+    BigDecimal loanToSalaryRatio;
+    int scoringMinAge;
+    int scoringMaxAge;
+    int minWorkExperienceTotal;
+    int minWorkExperienceCurrent;
+
+    PrescoringValidator prescoringValidator;
+    RateAdjustmentTable rateAdjustmentTable;
+
+    static ConveyorSettings of(long version,
+                               BasicConfiguration basicConfiguration,
+                               PrescoringConfiguration prescoringConfiguration,
+                               ScoringConfiguration scoringConfiguration,
+                               RateRulesConfiguration rateRulesConfiguration) {
+        BigDecimal defaultRate = Objects.requireNonNull(basicConfiguration.getDefaultRate(), "default-setting.defaultRate");
+        return new ConveyorSettings(version,
+                fingerprint(basicConfiguration, prescoringConfiguration, scoringConfiguration, rateRulesConfiguration),
+                defaultRate,
+                basicConfiguration.getApplicationId(),
+                Objects.requireNonNull(basicConfiguration.getInsuranceRateDiscount(), "default-setting.insuranceRateDiscount"),
+                Objects.requireNonNull(basicConfiguration.getSalaryClientRateDiscount(), "default-setting.salaryClientRateDiscount"),
+                Objects.requireNonNull(scoringConfiguration.getLoanToSalaryRatio(), "scoring-constants.loanToSalaryRatio"),
+                scoringConfiguration.getMinAge(),
+                scoringConfiguration.getMaxAge(),
+                scoringConfiguration.getMinWorkExperienceTotal(),
+                scoringConfiguration.getMinWorkExperienceCurrent(),
+                new PrescoringValidator(prescoringConfiguration),
+                new RateAdjustmentTable(defaultRate, rateRulesConfiguration));
+    }
+
+    /**
+     * Конфигурации - Lombok @Data, toString которых перечисляет все поля, включая вложенные правила;
+     * словари правил заполняются в порядке ключей из источника настроек
+     */
+    private static String fingerprint(Object... configurations) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object configuration : configurations) {
+                digest.update(configuration.toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
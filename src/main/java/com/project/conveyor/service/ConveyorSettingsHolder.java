@@ -0,0 +1,103 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.BasicConfiguration;
+import com.project.conveyor.config.PrescoringConfiguration;
+import com.project.conveyor.config.RateRulesConfiguration;
+import com.project.conveyor.config.ScoringConfiguration;
+import com.project.conveyor.config.SettingsConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.MergedAnnotations;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Текущий снимок настроек расчёта. Снимок публикуется через одну volatile-ссылку и заменяется целиком.
+ * <p>
+ * Значения берутся из окружения приложения; если задан settings.file (yml или properties),
+ * его значения имеют приоритет. refresh() заново читает файл и окружение, собирает новый снимок
+ * и, только если это удалось, заменяет текущий и публикует ConveyorSettingsRefreshedEvent.
+ * При ошибке в настройках остаётся действовать прежний снимок.
+ * <p>
+ * BasicConfiguration, PrescoringConfiguration, ScoringConfiguration и RateRulesConfiguration не являются бинами:
+ * их связывает только этот класс, аннотация @ConfigurationProperties задаёт лишь префикс.
+ */
+@Component
+public class ConveyorSettingsHolder {
+
+    private final SettingsConfiguration settingsConfiguration;
+    private final ConfigurableEnvironment environment;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile ConveyorSettings current;
+
+    public ConveyorSettingsHolder(SettingsConfiguration settingsConfiguration,
+                                  ConfigurableEnvironment environment,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.settingsConfiguration = settingsConfiguration;
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+        this.current = load(1);
+    }
+
+    public @NotNull ConveyorSettings get() {
+        return current;
+    }
+
+    public synchronized @NotNull ConveyorSettings refresh() {
+        ConveyorSettings settings = load(current.getVersion() + 1);
+        current = settings;
+        eventPublisher.publishEvent(new ConveyorSettingsRefreshedEvent(settings));
+        return settings;
+    }
+
+    private ConveyorSettings load(long version) {
+        Binder binder = binder();
+        return ConveyorSettings.of(version,
+                bind(binder, BasicConfiguration.class),
+                bind(binder, PrescoringConfiguration.class),
+                bind(binder, ScoringConfiguration.class),
+                bind(binder, RateRulesConfiguration.class));
+    }
+
+    private static <T> T bind(Binder binder, Class<T> type) {
+        String prefix = MergedAnnotations.from(type).get(ConfigurationProperties.class).getString("prefix");
+        return binder.bindOrCreate(prefix, type);
+    }
+
+    private Binder binder() {
+        List<ConfigurationPropertySource> sources = new ArrayList<>();
+        String file = settingsConfiguration.getFile();
+        if (StringUtils.hasText(file)) {
+            ConfigurationPropertySources.from(loadFile(file)).forEach(sources::add);
+        }
+        ConfigurationPropertySources.get(environment).forEach(sources::add);
+        return new Binder(sources, new PropertySourcesPlaceholdersResolver(environment));
+    }
+
+    private static List<PropertySource<?>> loadFile(String file) {
+        PropertySourceLoader loader = file.endsWith(".properties")
+                ? new PropertiesPropertySourceLoader()
+                : new YamlPropertySourceLoader();
+        try {
+            return loader.load("settings-file", new FileSystemResource(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read settings file " + file, e);
+        }
+    }
+}
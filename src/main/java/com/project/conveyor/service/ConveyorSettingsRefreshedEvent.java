@@ -0,0 +1,11 @@
+package com.project.conveyor.service;
+
+import lombok.Value;
+
+/**
+ * Публикуется после замены снимка настроек; производные кэши сбрасываются по этому событию
+ */
+@Value
+public class ConveyorSettingsRefreshedEvent {
+    ConveyorSettings settings;
+}
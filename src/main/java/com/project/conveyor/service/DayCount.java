@@ -0,0 +1,100 @@
+package com.project.conveyor.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Дневной коэффициент платежа: Количество дней в месяце / Количество дней в году.
+ * При переходе через новый год коэффициент складывается из двух частей - дни уходящего года
+ * делятся на его длину, дни нового года - на длину нового (один из них может быть високосным).
+ * Помимо самого коэффициента (с точностью 20 знаков, как в расчёте графика) хранится знак ошибки
+ * его округления - она нужна целочисленному расчёту процентов, чтобы разрешать "ничьи" при округлении
+ * так же, как это делает BigDecimal.
+ */
+final class DayCount {
+
+    private static final int COEFFICIENT_SCALE = 20;
+
+    /** Дни и длина года для первой (или единственной) части коэффициента */
+    final int days;
+    final int yearLength;
+    /** Дни и длина нового года при переходе через год, иначе 0 и 1 */
+    final int nextYearDays;
+    final int nextYearLength;
+    /** Коэффициент, округлённый до 20 знаков (каждая часть округляется отдельно) */
+    final BigDecimal coefficient;
+    /** Знак разности (округлённый коэффициент - точный коэффициент) */
+    final int roundingErrorSign;
+
+    private DayCount(int days, int yearLength, int nextYearDays, int nextYearLength) {
+        this.days = days;
+        this.yearLength = yearLength;
+        this.nextYearDays = nextYearDays;
+        this.nextYearLength = nextYearLength;
+
+        BigDecimal coefficient = divide(days, yearLength);
+        if (nextYearLength > 1) {
+            coefficient = coefficient.add(divide(nextYearDays, nextYearLength));
+        }
+        this.coefficient = coefficient;
+        // Ошибка части равна n / (L * 10^20), знак суммы - знак n1 * L2 + n2 * L1
+        this.roundingErrorSign = Long.signum((long) roundingError(days, yearLength) * nextYearLength
+                + (long) roundingError(nextYearDays, nextYearLength) * yearLength);
+    }
+
+    /**
+     * Коэффициент days / yearLength
+     */
+    static DayCount of(int days, int yearLength) {
+        return new DayCount(days, yearLength, 0, 1);
+    }
+
+    /**
+     * Коэффициент при переходе через год: days / yearLength + nextYearDays / nextYearLength
+     */
+    static DayCount of(int days, int yearLength, int nextYearDays, int nextYearLength) {
+        return new DayCount(days, yearLength, nextYearDays, nextYearLength);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DayCount other)) {
+            return false;
+        }
+        return days == other.days && yearLength == other.yearLength
+                && nextYearDays == other.nextYearDays && nextYearLength == other.nextYearLength;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(days, yearLength, nextYearDays, nextYearLength);
+    }
+
+    private static BigDecimal divide(int days, int yearLength) {
+        return BigDecimal.valueOf(days).divide(BigDecimal.valueOf(yearLength), COEFFICIENT_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * @return n = q * L - days * 10^20, где q - days * 10^20 / L, округлённое HALF_EVEN до целого
+     */
+    private static int roundingError(int days, int yearLength) {
+        if (yearLength == 1) {
+            return 0;
+        }
+        // days * 10^20 = floor * L + rem; остаток от деления на 2L даёт и rem, и чётность floor
+        long modulus = 2L * yearLength;
+        long pow10 = 1;
+        for (int i = 0; i < COEFFICIENT_SCALE; i++) {
+            pow10 = pow10 * 10 % modulus;
+        }
+        long t = Math.floorMod(days * pow10, modulus);
+        boolean floorIsOdd = t >= yearLength;
+        long rem = t % yearLength;
+        boolean roundUp = 2 * rem > yearLength || 2 * rem == yearLength && floorIsOdd;
+        return (int) (roundUp ? yearLength - rem : -rem);
+    }
+}
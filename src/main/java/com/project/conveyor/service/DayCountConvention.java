@@ -0,0 +1,66 @@
+package com.project.conveyor.service;
+
+import java.time.LocalDate;
+
+/**
+ * Правило расчёта дневного коэффициента (доли года, за которую начисляются проценты) для платежа.
+ */
+public enum DayCountConvention {
+
+    /**
+     * Фактическое число дней прошедшего месяца к фактической длине года.
+     * При переходе через новый год дни уходящего и нового года считаются отдельно,
+     * каждый относительно длины своего года.
+     */
+    ACT_ACT {
+        @Override
+        DayCount dayCount(LocalDate datePayment, boolean firstPayment) {
+            // Проверка на переход в новый год (год, возможно, был/будет високосным => изменится дневная ставка)
+            if (datePayment.getMonthValue() == 1 && !firstPayment) {
+                boolean isLeapBeforeYear = datePayment.minusYears(1).isLeapYear();
+                int lengthBeforeYear = (isLeapBeforeYear) ? 366: 365;
+                boolean isLeapNowYear = datePayment.isLeapYear();
+                int lengthNowYear = (isLeapNowYear) ? 366: 365;
+
+                LocalDate monthBefore = datePayment.minusMonths(1);
+                // Количество дней от последнего платежа до окончания года
+                int daysUntilNextMonth = monthBefore.until(datePayment.withDayOfMonth(1)).getDays() - 1;
+                // Количество дней от начала нового года до следующего платежа
+                int daysInNowMonth = datePayment.withDayOfMonth(1).until(datePayment).getDays() + 1;
+
+                return DayCount.of(daysUntilNextMonth, lengthBeforeYear, daysInNowMonth, lengthNowYear);
+            }
+            // Количество дней, за прошедший месяц (нужно для вычисления днейвной ставки)
+            int lengthMonth = datePayment.minusMonths(1).lengthOfMonth();
+            boolean isLeap = datePayment.isLeapYear();
+            int lengthYear = (isLeap) ? 366: 365;
+            return DayCount.of(lengthMonth, lengthYear);
+        }
+    },
+
+    /**
+     * Фактическое число дней прошедшего месяца к 365
+     */
+    ACT_365 {
+        @Override
+        DayCount dayCount(LocalDate datePayment, boolean firstPayment) {
+            return DayCount.of(datePayment.minusMonths(1).lengthOfMonth(), 365);
+        }
+    },
+
+    /**
+     * Месяц считается равным 30 дням, год - 360
+     */
+    THIRTY_360 {
+        @Override
+        DayCount dayCount(LocalDate datePayment, boolean firstPayment) {
+            return DayCount.of(30, 360);
+        }
+    };
+
+    /**
+     * @param datePayment дата платежа
+     * @param firstPayment первый ли это платёж графика
+     */
+    abstract DayCount dayCount(LocalDate datePayment, boolean firstPayment);
+}
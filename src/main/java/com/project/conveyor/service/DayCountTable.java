@@ -0,0 +1,74 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.ScheduleConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Заранее рассчитанные дневные коэффициенты для дат платежей.
+ * Коэффициент зависит только от календаря, поэтому таблица строится один раз при старте
+ * на dayCountHorizonYears лет вперёд (начиная с прошлого года) и дальше не меняется.
+ * Для дат вне горизонта коэффициент вычисляется по правилу на месте.
+ */
+@Component
+public class DayCountTable {
+
+    private final DayCountConvention convention;
+    private final long firstEpochDay;
+    /** Коэффициенты по дню от firstEpochDay: для первого платежа графика и для остальных */
+    private final DayCount[] firstPayments;
+    private final DayCount[] nextPayments;
+
+    @Autowired
+    public DayCountTable(ScheduleConfiguration scheduleConfiguration) {
+        this(scheduleConfiguration.getDayCountConvention(),
+                LocalDate.now().withDayOfYear(1).minusYears(1),
+                scheduleConfiguration.getDayCountHorizonYears() + 1);
+    }
+
+    /**
+     * @param from первая дата таблицы
+     * @param years на сколько лет вперёд от неё строится таблица
+     */
+    public DayCountTable(DayCountConvention convention, LocalDate from, int years) {
+        this.convention = convention;
+        this.firstEpochDay = from.toEpochDay();
+        int size = (int) (from.plusYears(years).toEpochDay() - firstEpochDay);
+        this.firstPayments = new DayCount[size];
+        this.nextPayments = new DayCount[size];
+
+        // Большинство дат одного месяца дают одинаковый коэффициент - храним по одному экземпляру
+        Map<DayCount, DayCount> distinct = new HashMap<>();
+        LocalDate date = from;
+        for (int day = 0; day < size; day++) {
+            firstPayments[day] = intern(distinct, convention.dayCount(date, true));
+            nextPayments[day] = intern(distinct, convention.dayCount(date, false));
+            date = date.plusDays(1);
+        }
+    }
+
+    private static DayCount intern(Map<DayCount, DayCount> distinct, DayCount dayCount) {
+        DayCount existing = distinct.putIfAbsent(dayCount, dayCount);
+        return existing != null ? existing : dayCount;
+    }
+
+    public DayCountConvention getConvention() {
+        return convention;
+    }
+
+    /**
+     * @param datePayment дата платежа
+     * @param firstPayment первый ли это платёж графика
+     */
+    DayCount get(LocalDate datePayment, boolean firstPayment) {
+        long index = datePayment.toEpochDay() - firstEpochDay;
+        if (index < 0 || index >= nextPayments.length) {
+            return convention.dayCount(datePayment, firstPayment);
+        }
+        return firstPayment ? firstPayments[(int) index] : nextPayments[(int) index];
+    }
+}
@@ -0,0 +1,42 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.PaymentScheduleElement;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+/**
+ * Расчёт графика в копейках на long с тем же результатом, что и BigDecimalPaymentScheduleEngine.
+ * Для параметров, не поддерживаемых целочисленным расчётом, используется BigDecimal.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "schedule.engine", havingValue = "fixed-point")
+public class FixedPointPaymentScheduleEngine implements PaymentScheduleEngine {
+
+    private final DayCountTable dayCountTable;
+
+    @Override
+    public @NotNull Iterator<PaymentScheduleElement> schedule(@NotNull BigDecimal amount,
+                                                              @NotNull BigDecimal rate,
+                                                              int term,
+                                                              @NotNull BigDecimal monthlyPayment,
+                                                              @NotNull LocalDate dateFirstPayment) {
+        return FixedPointPaymentScheduleIterator.of(amount, rate, term, monthlyPayment, dateFirstPayment, dayCountTable);
+    }
+
+    @Override
+    public @NotNull Iterator<PaymentScheduleElement> schedule(@NotNull BigDecimal remainingDebt,
+                                                              @NotNull BigDecimal rate,
+                                                              int term,
+                                                              @NotNull BigDecimal monthlyPayment,
+                                                              @NotNull LocalDate datePayment,
+                                                              int firstIndex) {
+        return FixedPointPaymentScheduleIterator.of(remainingDebt, rate, term, monthlyPayment, datePayment, firstIndex, dayCountTable);
+    }
+}
@@ -0,0 +1,199 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.PaymentScheduleElement;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Расчёт графика платежей в копейках (long) без промежуточных BigDecimal.
+ * Результат совпадает с PaymentScheduleIterator до знака и масштаба каждого поля.
+ * <p>
+ * Проценты за месяц в копейках - это точная дробь
+ * Остаток × Ставка × (Дни / Длина года [+ Дни нового года / Длина нового года]) / 100,
+ * которая округляется HALF_EVEN. BigDecimal-вариант умножает на дневной коэффициент, округлённый до 20 знаков;
+ * эта погрешность (меньше 10^-10 копейки при допустимых остатке и ставке) заведомо меньше расстояния
+ * от точной дроби до границы округления, поэтому влияет на результат только при точном попадании на
+ * половину копейки. В этом случае направление округления определяется знаком погрешности коэффициента,
+ * а при её отсутствии - правилом HALF_EVEN.
+ * <p>
+ * Быстрый расчёт применим, если ставка неотрицательна, меньше 100% и имеет не более двух знаков после запятой,
+ * а сумма и платёж заданы с точностью до копеек. Если остаток долга выходит за допустимый диапазон,
+ * оставшиеся строки досчитываются PaymentScheduleIterator.
+ */
+class FixedPointPaymentScheduleIterator implements Iterator<PaymentScheduleElement> {
+
+    /** 100 млн. в копейках: при большем остатке погрешность коэффициента может сменить направление округления */
+    static final long MAX_DEBT = 10_000_000_000L;
+    private static final int MAX_RATE_SCALE = 2;
+    private static final BigDecimal MAX_RATE = BigDecimal.valueOf(100);
+
+    private final DayCountTable dayCountTable;
+    private final BigDecimal rate;
+    private final long rateUnscaled;
+    private final long rateDenominator;
+    private final int term;
+    private final BigDecimal monthlyPayment;
+    private final long monthlyPaymentKopecks;
+    private long remainingDebt;
+    private LocalDate datePayment;
+    private int i;
+    private Iterator<PaymentScheduleElement> fallback;
+
+    private FixedPointPaymentScheduleIterator(BigDecimal amount,
+                                              BigDecimal rate,
+                                              int term,
+                                              BigDecimal monthlyPayment,
+                                              LocalDate dateFirstPayment,
+                                              int firstIndex,
+                                              DayCountTable dayCountTable) {
+        this.dayCountTable = dayCountTable;
+        this.rate = rate;
+        this.rateUnscaled = rate.unscaledValue().longValueExact();
+        // Ставка в процентах: rate / 100 = rateUnscaled / (100 * 10^scale)
+        this.rateDenominator = 100 * pow10(rate.scale());
+        this.term = term;
+        this.monthlyPayment = monthlyPayment;
+        this.monthlyPaymentKopecks = toKopecks(monthlyPayment);
+        this.remainingDebt = toKopecks(amount);
+        this.datePayment = dateFirstPayment;
+        this.i = firstIndex;
+    }
+
+    /**
+     * @return целочисленный итератор, если параметры позволяют расчёт в копейках, иначе PaymentScheduleIterator
+     */
+    static Iterator<PaymentScheduleElement> of(BigDecimal amount,
+                                               BigDecimal rate,
+                                               int term,
+                                               BigDecimal monthlyPayment,
+                                               LocalDate dateFirstPayment,
+                                               DayCountTable dayCountTable) {
+        return of(amount, rate, term, monthlyPayment, dateFirstPayment, 0, dayCountTable);
+    }
+
+    /**
+     * Продолжение графика с платежа под индексом firstIndex (нумерация с нуля)
+     * @param remainingDebt остаток долга перед этим платежом
+     * @param datePayment дата этого платежа
+     */
+    static Iterator<PaymentScheduleElement> of(BigDecimal remainingDebt,
+                                               BigDecimal rate,
+                                               int term,
+                                               BigDecimal monthlyPayment,
+                                               LocalDate datePayment,
+                                               int firstIndex,
+                                               DayCountTable dayCountTable) {
+        if (isSupported(remainingDebt, rate, monthlyPayment)) {
+            return new FixedPointPaymentScheduleIterator(remainingDebt, rate, term, monthlyPayment, datePayment, firstIndex, dayCountTable);
+        }
+        return new PaymentScheduleIterator(remainingDebt, rate, term, monthlyPayment, datePayment, firstIndex, dayCountTable);
+    }
+
+    static boolean isSupported(BigDecimal amount, BigDecimal rate, BigDecimal monthlyPayment) {
+        return rate.signum() >= 0 && rate.compareTo(MAX_RATE) < 0
+                && rate.scale() >= 0 && rate.scale() <= MAX_RATE_SCALE
+                && isKopecks(amount) && isKopecks(monthlyPayment);
+    }
+
+    private static boolean isKopecks(BigDecimal value) {
+        return value.scale() <= 2 && value.abs().compareTo(BigDecimal.valueOf(MAX_DEBT, 2)) <= 0;
+    }
+
+    static long toKopecks(BigDecimal value) {
+        return value.movePointRight(2).longValueExact();
+    }
+
+    private static long pow10(int exponent) {
+        long result = 1;
+        for (int k = 0; k < exponent; k++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return fallback != null ? fallback.hasNext() : i < term;
+    }
+
+    @Override
+    public PaymentScheduleElement next() {
+        if (fallback != null) {
+            return fallback.next();
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (Math.abs(remainingDebt) > MAX_DEBT) {
+            // Остаток после первой строки всегда имеет масштаб 2, как и в BigDecimal-расчёте
+            fallback = new PaymentScheduleIterator(BigDecimal.valueOf(remainingDebt, 2),
+                    rate, term, monthlyPayment, datePayment, i, dayCountTable);
+            return fallback.next();
+        }
+
+        long interestPayment = interest(remainingDebt, dayCountTable.get(datePayment, i == 0));
+
+        BigDecimal totalPayment;
+        long debtPayment;
+        BigDecimal remainingDebtValue;
+        if (i == term - 1) {        /* последний платёж состоит из остатка долга + проценты */
+            totalPayment = BigDecimal.valueOf(remainingDebt + interestPayment, 2);
+            debtPayment = remainingDebt;
+            remainingDebt = 0;
+            remainingDebtValue = BigDecimal.valueOf(0);
+        } else {
+            totalPayment = monthlyPayment;
+            debtPayment = monthlyPaymentKopecks - interestPayment;
+            remainingDebt -= debtPayment;
+            remainingDebtValue = BigDecimal.valueOf(remainingDebt, 2);
+        }
+
+        PaymentScheduleElement payment = new PaymentScheduleElement(i + 1,
+                datePayment,
+                totalPayment,
+                BigDecimal.valueOf(interestPayment, 2),
+                BigDecimal.valueOf(debtPayment, 2),
+                remainingDebtValue);
+
+        datePayment = datePayment.plusMonths(1);
+        i++;
+
+        return payment;
+    }
+
+    /**
+     * Проценты в копейках: debt * rate * (d1 * L2 + d2 * L1) / (100 * 10^scale * L1 * L2), округление HALF_EVEN
+     */
+    private long interest(long debt, DayCount dayCount) {
+        long days = (long) dayCount.days * dayCount.nextYearLength + (long) dayCount.nextYearDays * dayCount.yearLength;
+        long denominator = rateDenominator * dayCount.yearLength * dayCount.nextYearLength;
+        return interest(debt, rateUnscaled * days, denominator, dayCount.roundingErrorSign);
+    }
+
+    /**
+     * Проценты в копейках debt * numerator / denominator, округлённые HALF_EVEN
+     * @param numerator ставка (без масштаба), умноженная на дни периода
+     * @param roundingErrorSign знак погрешности дневного коэффициента BigDecimal-расчёта
+     */
+    static long interest(long debt, long numerator, long denominator, int roundingErrorSign) {
+        long product = Math.multiplyExact(debt, numerator);
+
+        long quotient = Math.floorDiv(product, denominator);
+        long twiceRemainder = 2 * Math.floorMod(product, denominator);
+        if (twiceRemainder < denominator) {
+            return quotient;
+        }
+        if (twiceRemainder > denominator) {
+            return quotient + 1;
+        }
+        // Точно половина копейки: BigDecimal-расчёт смещён от неё на погрешность коэффициента
+        int shift = Long.signum(debt) * Long.signum(numerator) * roundingErrorSign;
+        if (shift != 0) {
+            return shift > 0 ? quotient + 1 : quotient;
+        }
+        return (quotient & 1) == 0 ? quotient : quotient + 1;
+    }
+}
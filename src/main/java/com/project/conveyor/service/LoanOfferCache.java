@@ -0,0 +1,108 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.cache.BoundedCache;
+import com.project.conveyor.config.OfferCacheConfiguration;
+import com.project.conveyor.model.LoanOfferDTO;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Кэш рассчитанных кредитных предложений. Предложения зависят только от суммы и срока заявки
+ * (остальные параметры расчёта берутся из конфигурации), поэтому повторные запросы с теми же
+ * суммой и сроком получают готовый список. Сумма сравнивается с учётом масштаба: она попадает
+ * в ответ как есть, и 100000 и 100000.00 дают разные ответы.
+ * Прескоринг в кэш не входит и выполняется на каждый запрос.
+ * В ключ входит версия снимка настроек, по которому рассчитаны предложения, - после обновления
+ * настроек старые записи не используются (и сбрасываются), даже если расчёт по старой версии
+ * закончился уже после обновления.
+ * В кэше хранятся неизменяемые значения (CachedOffer), а каждый запрос получает новые LoanOfferDTO:
+ * изменение предложений в ответе одного запроса не затрагивает другие запросы и кэш.
+ */
+@Component
+public class LoanOfferCache {
+
+    private final boolean enabled;
+    private final BoundedCache<OfferKey, List<CachedOffer>> cache;
+
+    public LoanOfferCache(OfferCacheConfiguration offerCacheConfiguration) {
+        this.enabled = offerCacheConfiguration.isEnabled();
+        this.cache = new BoundedCache<>(offerCacheConfiguration.getMaxSize(), offerCacheConfiguration.getTtl());
+    }
+
+    public List<LoanOfferDTO> get(long settingsVersion,
+                                  BigDecimal amount,
+                                  int term,
+                                  Supplier<List<LoanOfferDTO>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        List<CachedOffer> offers = cache.get(new OfferKey(settingsVersion, amount, term),
+                key -> loader.get().stream().map(CachedOffer::of).toList());
+        List<LoanOfferDTO> dtos = new ArrayList<>(offers.size());
+        for (CachedOffer offer : offers) {
+            dtos.add(offer.toDTO());
+        }
+        return dtos;
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    void onSettingsRefreshed(ConveyorSettingsRefreshedEvent event) {
+        invalidateAll();
+    }
+
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    public int getSize() {
+        return cache.size();
+    }
+
+    private record OfferKey(long settingsVersion, BigDecimal amount, int term) {
+    }
+
+    private record CachedOffer(Long applicationId,
+                               BigDecimal requestedAmount,
+                               BigDecimal totalAmount,
+                               Integer term,
+                               BigDecimal monthlyPayment,
+                               BigDecimal rate,
+                               Boolean isInsuranceEnabled,
+                               Boolean isSalaryClient) {
+
+        static CachedOffer of(LoanOfferDTO offer) {
+            return new CachedOffer(offer.getApplicationId(),
+                    offer.getRequestedAmount(),
+                    offer.getTotalAmount(),
+                    offer.getTerm(),
+                    offer.getMonthlyPayment(),
+                    offer.getRate(),
+                    offer.getIsInsuranceEnabled(),
+                    offer.getIsSalaryClientl());
+        }
+
+        LoanOfferDTO toDTO() {
+            return new LoanOfferDTO(applicationId,
+                    requestedAmount,
+                    totalAmount,
+                    term,
+                    monthlyPayment,
+                    rate,
+                    isInsuranceEnabled,
+                    isSalaryClient);
+        }
+    }
+}
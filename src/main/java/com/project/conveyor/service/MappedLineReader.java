@@ -0,0 +1,103 @@
+package com.project.conveyor.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Построчное чтение файла, отображённого в память окнами по windowSize байт (по умолчанию 64 МБ): файл может быть
+ * больше 2 ГБ (предел одного MappedByteBuffer), а страницы читаются ОС по мере обхода без
+ * копирования в буфер ввода. Строка, не поместившаяся в окно, читается из нового окна,
+ * начинающегося с неё. Концы строк - \n или \r\n, кодировка UTF-8.
+ */
+final class MappedLineReader implements Closeable {
+
+    private static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+
+    private final FileChannel channel;
+    /** Размер окна, он же предельная длина строки */
+    private final long windowSize;
+    private final long size;
+    private MappedByteBuffer window;
+    private long windowStart;
+    /** Смещение начала следующей строки */
+    private long position;
+
+    MappedLineReader(Path file, long position) throws IOException {
+        this(file, position, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedLineReader(Path file, long position, long windowSize) throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.windowSize = windowSize;
+        this.size = channel.size();
+        this.position = position;
+    }
+
+    /**
+     * @return смещение в файле, с которого начнётся следующая строка
+     */
+    long position() {
+        return position;
+    }
+
+    /**
+     * @return следующая строка без символов конца строки или null, если файл прочитан
+     */
+    String readLine() throws IOException {
+        if (position >= size) {
+            return null;
+        }
+        if (window == null || position >= windowStart + window.limit()) {
+            map(position);
+        }
+        int from = (int) (position - windowStart);
+        int end = indexOfNewline(from);
+        if (end < 0 && windowStart + window.limit() < size && from > 0) {
+            map(position);
+            from = 0;
+            end = indexOfNewline(0);
+        }
+        if (end < 0 && windowStart + window.limit() < size) {
+            throw new IOException("Line at offset " + position + " is longer than " + windowSize + " bytes");
+        }
+
+        int lineEnd = end < 0 ? window.limit() : end;
+        byte[] bytes = new byte[lineEnd - from];
+        window.get(from, bytes);
+        position = windowStart + lineEnd + (end < 0 ? 0 : 1);
+
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void map(long offset) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(windowSize, size - offset));
+        windowStart = offset;
+    }
+
+    private int indexOfNewline(int from) {
+        int limit = window.limit();
+        for (int i = from; i < limit; i++) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.PaymentScheduleElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+/**
+ * Способ расчёта графика платежей. Реализация выбирается параметром schedule.engine.
+ */
+public interface PaymentScheduleEngine {
+
+    /**
+     * @param amount сумма полученного кредита
+     * @param rate ставка по кредиту
+     * @param term срок выплачивания кредита
+     * @param monthlyPayment сумма масячного аннуитетного платежа
+     * @param dateFirstPayment дата первого платежа по кредиту
+     * @return строки графика, рассчитываемые по мере обхода
+     */
+    @NotNull Iterator<PaymentScheduleElement> schedule(@NotNull BigDecimal amount,
+                                                       @NotNull BigDecimal rate,
+                                                       int term,
+                                                       @NotNull BigDecimal monthlyPayment,
+                                                       @NotNull LocalDate dateFirstPayment);
+
+    /**
+     * Продолжение графика с платежа под индексом firstIndex (нумерация с нуля): строки firstIndex + 1 ... term
+     * совпадают с соответствующими строками полного графика, если remainingDebt - остаток долга из строки firstIndex.
+     * Используется для пересчёта графика после досрочного погашения без пересчёта уже внесённых платежей.
+     * @param remainingDebt остаток долга перед платежом firstIndex
+     * @param term срок кредита вместе с уже внесёнными платежами
+     * @param datePayment дата платежа firstIndex
+     */
+    @NotNull Iterator<PaymentScheduleElement> schedule(@NotNull BigDecimal remainingDebt,
+                                                       @NotNull BigDecimal rate,
+                                                       int term,
+                                                       @NotNull BigDecimal monthlyPayment,
+                                                       @NotNull LocalDate datePayment,
+                                                       int firstIndex);
+}
@@ -0,0 +1,109 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.PaymentScheduleElement;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Построчный расчёт графика платежей.
+ * Каждая строка вычисляется при вызове next(), поэтому график можно отдавать клиенту
+ * по мере расчёта, не держа в памяти все строки сразу.
+ * @link <a href="https://journal.tinkoff.ru/guide/credit-payment/">Как посчитать ежемесячный платеж по кредиту</a>
+ */
+class PaymentScheduleIterator implements Iterator<PaymentScheduleElement> {
+
+    private final DayCountTable dayCountTable;
+    private final BigDecimal rateDecimal;
+    private final int term;
+    private BigDecimal monthlyPayment;
+    private BigDecimal remainingDebt;
+    private LocalDate datePayment;
+    private int i;
+
+    /**
+     * @param amount сумма полученного кредита
+     * @param rate ставка по кредиту рассчитанная в методе calculationLoanParams
+     * @param term срок выплачивания кредита
+     * @param monthlyPayment сумма масячного аннуитетного платежа
+     * @param dateFirstPayment дата первого платежа по кредиту(спустя месяц после получения кредита)
+     * @param dayCountTable дневные коэффициенты для дат платежей
+     */
+    PaymentScheduleIterator(BigDecimal amount,
+                            BigDecimal rate,
+                            int term,
+                            BigDecimal monthlyPayment,
+                            LocalDate dateFirstPayment,
+                            DayCountTable dayCountTable) {
+        this(amount, rate, term, monthlyPayment, dateFirstPayment, 0, dayCountTable);
+    }
+
+    /**
+     * Продолжение графика с платежа под индексом firstIndex (нумерация с нуля)
+     * @param remainingDebt остаток долга перед этим платежом
+     * @param datePayment дата этого платежа
+     */
+    PaymentScheduleIterator(BigDecimal remainingDebt,
+                            BigDecimal rate,
+                            int term,
+                            BigDecimal monthlyPayment,
+                            LocalDate datePayment,
+                            int firstIndex,
+                            DayCountTable dayCountTable) {
+        this.dayCountTable = dayCountTable;
+        this.rateDecimal = rate.divide(BigDecimal.valueOf(100), 20, RoundingMode.HALF_EVEN);
+        this.term = term;
+        this.monthlyPayment = monthlyPayment;
+        this.remainingDebt = remainingDebt;
+        this.datePayment = datePayment;
+        this.i = firstIndex;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return i < term;
+    }
+
+    @Override
+    public PaymentScheduleElement next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        // Дневной коэффициент из формулы: Количество дней в месяце / Количество дней в году
+        BigDecimal dailyCoef = dayCountTable.get(datePayment, i == 0).coefficient;
+
+        /*
+        Вычисление суммы процентов по формуле:
+        Остаток долга × Процентная ставка × Количество дней в месяце / Количество дней в году
+         */
+        BigDecimal interestPayment =
+                remainingDebt.multiply(rateDecimal).multiply(dailyCoef).setScale(2, RoundingMode.HALF_EVEN);
+
+        if (i == term - 1) {        /* проверка на последний платёж */
+            monthlyPayment = remainingDebt.add(interestPayment);        /* последний платёж состоит из остатка долга + проценты */
+        }
+
+        BigDecimal debtPayment = monthlyPayment.subtract(interestPayment);
+        remainingDebt = remainingDebt.subtract(debtPayment);
+
+        if (i == term - 1) {
+            remainingDebt = BigDecimal.valueOf(0);
+        }
+
+        PaymentScheduleElement payment = new PaymentScheduleElement(i + 1,
+                datePayment,
+                monthlyPayment,
+                interestPayment,
+                debtPayment,
+                remainingDebt);
+
+        datePayment = datePayment.plusMonths(1);
+        i++;
+
+        return payment;
+    }
+}
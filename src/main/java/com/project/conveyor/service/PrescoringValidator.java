@@ -0,0 +1,294 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.PrescoringConfiguration;
+import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.ExceptionReasons;
+import com.project.conveyor.model.LoanApplicationRequestDTO;
+import com.project.conveyor.model.LoanOfferGridRequestDTO;
+import com.project.conveyor.model.PaymentScheduleElement;
+import com.project.conveyor.model.PrepaymentRequestDTO;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Валидатор заявки на прескоринге.
+ * Пороговые значения и тексты ошибок вычисляются один раз при создании из PrescoringConfiguration.
+ * Вместо регулярных выражений используются посимвольные проверки, список причин отказа
+ * создаётся только при первой найденной ошибке - для корректной заявки валидатор ничего не выделяет.
+ * Валидатор неизменяемый и входит в снимок настроек ConveyorSettings.
+ */
+public class PrescoringValidator {
+
+    /** Ставка кредита при досрочном погашении: коэффициент аннуитета не определён для нулевой ставки */
+    private static final int MAX_RATE_SCALE = 4;
+    private static final String RATE_MESSAGE =
+            "Invalid credit rate. (a positive number with no more than " + MAX_RATE_SCALE + " decimal places)";
+
+    private final int minNameLength;
+    private final int maxNameLength;
+    private final int minEmailPartLength;
+    private final int maxEmailLocalPartLength;
+    private final int maxEmailDomainLength;
+    private final int passportSeriesLength;
+    private final int passportNumberLength;
+    private final BigDecimal minRequestedAmount;
+    private final int minTerm;
+    private final int minAge;
+
+    private final String firstNameMessage;
+    private final String lastNameMessage;
+    private final String middleNameMessage;
+    private final String amountMessage;
+    private final String termMessage;
+    private final String birthdateMessage;
+    private final String emailMessage;
+    private final String passportSeriesMessage;
+    private final String passportNumberMessage;
+
+    public PrescoringValidator(PrescoringConfiguration configuration) {
+        minNameLength = configuration.getMinNameLength();
+        maxNameLength = configuration.getMaxNameLength();
+        minEmailPartLength = configuration.getMinEmailPartLength();
+        maxEmailLocalPartLength = configuration.getMaxEmailLocalPartLength();
+        maxEmailDomainLength = configuration.getMaxEmailDomainLength();
+        passportSeriesLength = configuration.getPassportSeriesLength();
+        passportNumberLength = configuration.getPassportNumberLength();
+        minRequestedAmount = configuration.getMinRequestedAmount();
+        minTerm = configuration.getMinTerm();
+        minAge = configuration.getMinAge();
+
+        String nameRule = String.format("(from %d to %d Latin letters)", minNameLength, maxNameLength);
+        firstNameMessage = "Invalid first name. " + nameRule;
+        lastNameMessage = "Invalid last name. " + nameRule;
+        middleNameMessage = "Invalid middle name. " + nameRule;
+        amountMessage = String.format("Invalid amount. (a real number greater than or equal to %s)",
+                minRequestedAmount.stripTrailingZeros().toPlainString());
+        termMessage = String.format("Invalid term. (an integer greater than or equal to %d)", minTerm);
+        birthdateMessage = String.format(
+                "Invalid birthdate. (in the format yyyy-mm-dd, no later than %d years from the current day)", minAge);
+        emailMessage = "Invalid email.";
+        passportSeriesMessage = String.format("Invalid passport series. (%d digits)", passportSeriesLength);
+        passportNumberMessage = String.format("Invalid passport number. (%d digits)", passportNumberLength);
+    }
+
+    /**
+     * @return причины отказа; пустой неизменяемый список, если заявка корректна
+     */
+    public @NotNull List<ExceptionReasons> validate(@NotNull LoanApplicationRequestDTO request) {
+        List<ExceptionReasons> reasons = Collections.emptyList();
+
+        if (!isLatinName(request.getFirstName())) {
+            reasons = add(reasons, "firstName", firstNameMessage);
+        }
+        if (!isLatinName(request.getLastName())) {
+            reasons = add(reasons, "lastName", lastNameMessage);
+        }
+        if (!isLatinName(request.getMiddleName())) {
+            reasons = add(reasons, "middleName", middleNameMessage);
+        }
+
+        BigDecimal amount = request.getAmount();
+        if (amount == null || amount.compareTo(minRequestedAmount) < 0) {
+            reasons = add(reasons, "amount", amountMessage);
+        }
+
+        Integer term = request.getTerm();
+        if (term == null || term < minTerm) {
+            reasons = add(reasons, "term", termMessage);
+        }
+
+        // Возраст не меньше minAge полных лет <=> дата рождения не позже, чем minAge лет назад
+        LocalDate birthDate = request.getBirthdate();
+        if (birthDate == null || birthDate.isAfter(LocalDate.now().minusYears(minAge))) {
+            reasons = add(reasons, "birthdate", birthdateMessage);
+        }
+
+        if (!isEmail(request.getEmail())) {
+            reasons = add(reasons, "email", emailMessage);
+        }
+        if (!isDigits(request.getPassportSeries(), passportSeriesLength)) {
+            reasons = add(reasons, "passportSeries", passportSeriesMessage);
+        }
+        if (!isDigits(request.getPassportNumber(), passportNumberLength)) {
+            reasons = add(reasons, "passportNumber", passportNumberMessage);
+        }
+        return reasons;
+    }
+
+    /**
+     * Проверка только суммы - для суммы, рассчитанной конвейером (максимальная сумма по зарплате и платежу)
+     * @return причины отказа; пустой неизменяемый список, если сумма не меньше минимальной
+     */
+    public @NotNull List<ExceptionReasons> validateAmount(@NotNull BigDecimal amount) {
+        if (amount.compareTo(minRequestedAmount) < 0) {
+            return add(Collections.emptyList(), "amount", amountMessage);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Проверка диапазонов сетки предложений: границы сумм и сроков подчиняются тем же ограничениям,
+     * что и сумма и срок заявки, шаги положительны, нижняя граница не больше верхней.
+     * @return причины отказа; пустой неизменяемый список, если запрос корректен
+     */
+    public @NotNull List<ExceptionReasons> validateGrid(@NotNull LoanOfferGridRequestDTO request) {
+        List<ExceptionReasons> reasons = Collections.emptyList();
+
+        BigDecimal minAmount = request.getMinAmount();
+        BigDecimal maxAmount = request.getMaxAmount();
+        if (minAmount == null || minAmount.compareTo(minRequestedAmount) < 0) {
+            reasons = add(reasons, "minAmount", amountMessage);
+        }
+        if (maxAmount == null || maxAmount.compareTo(minRequestedAmount) < 0) {
+            reasons = add(reasons, "maxAmount", amountMessage);
+        } else if (minAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            reasons = add(reasons, "maxAmount", "Invalid amount range. (maxAmount less than minAmount)");
+        }
+        if (request.getAmountStep() == null || request.getAmountStep().signum() <= 0) {
+            reasons = add(reasons, "amountStep", "Invalid amount step. (a positive number)");
+        }
+
+        Integer minTerm = request.getMinTerm();
+        Integer maxTerm = request.getMaxTerm();
+        if (minTerm == null || minTerm < this.minTerm) {
+            reasons = add(reasons, "minTerm", termMessage);
+        }
+        if (maxTerm == null || maxTerm < this.minTerm) {
+            reasons = add(reasons, "maxTerm", termMessage);
+        } else if (minTerm != null && minTerm > maxTerm) {
+            reasons = add(reasons, "maxTerm", "Invalid term range. (maxTerm less than minTerm)");
+        }
+        if (request.getTermStep() == null || request.getTermStep() <= 0) {
+            reasons = add(reasons, "termStep", "Invalid term step. (a positive integer)");
+        }
+        return reasons;
+    }
+
+    /**
+     * Проверка запроса на пересчёт графика после досрочного погашения: график должен содержать term строк,
+     * ставка - положительной, досрочное погашение - положительным и меньше остатка долга после платежа paymentNumber.
+     * Ограничения заявки (минимальные сумма и срок) к кредиту не применяются.
+     */
+    public @NotNull List<ExceptionReasons> validatePrepayment(@NotNull PrepaymentRequestDTO request) {
+        List<ExceptionReasons> reasons = Collections.emptyList();
+
+        CreditDTO credit = request.getCredit();
+        if (credit == null) {
+            return add(reasons, "credit", "Empty credit.");
+        }
+        if (credit.getAmount() == null || credit.getAmount().signum() <= 0) {
+            reasons = add(reasons, "credit.amount", "Invalid credit amount. (a positive number)");
+        }
+        BigDecimal rate = credit.getRate();
+        if (rate == null || rate.signum() <= 0 || rate.scale() > MAX_RATE_SCALE) {
+            reasons = add(reasons, "credit.rate", RATE_MESSAGE);
+        }
+        if (credit.getMonthlyPayment() == null || credit.getMonthlyPayment().signum() <= 0) {
+            reasons = add(reasons, "credit.monthlyPayment", "Invalid monthly payment. (a positive number)");
+        }
+        Integer term = credit.getTerm();
+        List<PaymentScheduleElement> paymentSchedule = credit.getPaymentSchedule();
+        if (term == null || term <= 0) {
+            reasons = add(reasons, "credit.term", "Invalid credit term. (a positive integer)");
+        } else if (paymentSchedule == null || paymentSchedule.size() != term) {
+            reasons = add(reasons, "credit.paymentSchedule", "Invalid payment schedule. (term payments)");
+        }
+        if (request.getType() == null) {
+            reasons = add(reasons, "type", "Invalid prepayment type. (REDUCE_TERM or REDUCE_PAYMENT)");
+        }
+        Integer paymentNumber = request.getPaymentNumber();
+        if (paymentNumber == null || term == null || paymentNumber < 0 || paymentNumber >= term) {
+            reasons = add(reasons, "paymentNumber", "Invalid payment number. (from 0 to term - 1)");
+        }
+        if (!reasons.isEmpty()) {
+            return reasons;
+        }
+
+        PaymentScheduleElement next = paymentSchedule.get(paymentNumber);
+        BigDecimal remainingDebt = paymentNumber == 0
+                ? credit.getAmount()
+                : paymentSchedule.get(paymentNumber - 1).getRemainingDebt();
+        if (next == null || next.getDate() == null || remainingDebt == null) {
+            return add(reasons, "credit.paymentSchedule", "Invalid payment schedule. (payment dates and remaining debt)");
+        }
+        BigDecimal amount = request.getAmount();
+        if (amount == null || amount.signum() <= 0 || amount.compareTo(remainingDebt) >= 0) {
+            reasons = add(reasons, "amount", "Invalid prepayment amount. (a positive number less than remaining debt "
+                    + remainingDebt.toPlainString() + ")");
+        }
+        return reasons;
+    }
+
+    private static List<ExceptionReasons> add(List<ExceptionReasons> reasons, String nameField, String description) {
+        if (reasons.isEmpty()) {
+            reasons = new ArrayList<>();
+        }
+        reasons.add(new ExceptionReasons(nameField, description));
+        return reasons;
+    }
+
+    /**
+     * Аналог ^[a-zA-Z]{min,max}
+     */
+    private boolean isLatinName(String value) {
+        if (value == null || value.length() < minNameLength || value.length() > maxNameLength) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Аналог [\w.]{min,maxLocal}@[\w.]{min,maxDomain}
+     */
+    private boolean isEmail(String value) {
+        if (value == null) {
+            return false;
+        }
+        int at = -1;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (!isWordOrDot(c)) {
+                return false;
+            }
+        }
+        int domainLength = value.length() - at - 1;
+        return at >= minEmailPartLength && at <= maxEmailLocalPartLength
+                && domainLength >= minEmailPartLength && domainLength <= maxEmailDomainLength;
+    }
+
+    private static boolean isWordOrDot(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_' || c == '.';
+    }
+
+    /**
+     * Аналог [0-9]{length}
+     */
+    private static boolean isDigits(String value, int length) {
+        if (value == null || value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,156 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.RateRulesConfiguration;
+import com.project.conveyor.config.RateRulesConfiguration.AgeBandRule;
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Расчёт ставки по правилам rate-rules. При загрузке правила переводятся в таблицы надбавок,
+ * проиндексированные по ordinal() перечислений; надбавки хранятся целыми числами в единицах
+ * 10^-scale, где scale - наибольший масштаб среди надбавок. Расчёт ставки - несколько обращений
+ * к массивам и одно сложение BigDecimal в конце.
+ * Масштаб результата такой же, как при последовательном сложении BigDecimal: наибольший
+ * из масштабов базовой ставки и применённых надбавок.
+ * Таблица неизменяемая и входит в снимок настроек ConveyorSettings.
+ */
+public class RateAdjustmentTable {
+
+    private final BigDecimal defaultRate;
+    private final int scale;
+    private final Deltas employmentStatus;
+    private final Deltas position;
+    private final Deltas maritalStatus;
+    private final int dependentsMoreThan;
+    private final Deltas dependents;
+    private final Deltas gender;
+    private final int[] genderMinAge;
+    private final int[] genderMaxAge;
+    /** Нужен ли возраст клиента для правила по полу */
+    private final boolean[] genderAgeBand;
+
+    public RateAdjustmentTable(BigDecimal defaultRate, RateRulesConfiguration configuration) {
+        this.defaultRate = defaultRate;
+        this.scale = Stream.of(
+                        configuration.getEmploymentStatus().values().stream(),
+                        configuration.getPosition().values().stream(),
+                        configuration.getMaritalStatus().values().stream(),
+                        configuration.getGender().values().stream().map(AgeBandRule::getDelta),
+                        Stream.of(configuration.getDependents().getDelta()))
+                .flatMap(deltas -> deltas)
+                .mapToInt(BigDecimal::scale)
+                .reduce(0, Math::max);
+
+        this.employmentStatus = deltas(EmploymentStatus.values().length, configuration.getEmploymentStatus());
+        this.position = deltas(Position.values().length, configuration.getPosition());
+        this.maritalStatus = deltas(MaritalStatus.values().length, configuration.getMaritalStatus());
+
+        this.dependentsMoreThan = configuration.getDependents().getMoreThan();
+        this.dependents = new Deltas(1);
+        dependents.put(0, configuration.getDependents().getDelta(), scale);
+
+        int genders = Gender.values().length;
+        this.gender = new Deltas(genders);
+        this.genderMinAge = new int[genders];
+        this.genderMaxAge = new int[genders];
+        this.genderAgeBand = new boolean[genders];
+        for (Map.Entry<Gender, AgeBandRule> entry : configuration.getGender().entrySet()) {
+            int index = entry.getKey().ordinal();
+            AgeBandRule rule = entry.getValue();
+            gender.put(index, rule.getDelta(), scale);
+            genderMinAge[index] = rule.getMinAge() != null ? rule.getMinAge() : Integer.MIN_VALUE;
+            genderMaxAge[index] = rule.getMaxAge() != null ? rule.getMaxAge() : Integer.MAX_VALUE;
+            genderAgeBand[index] = rule.getMinAge() != null || rule.getMaxAge() != null;
+        }
+    }
+
+    private <E extends Enum<E>> Deltas deltas(int size, Map<E, BigDecimal> configuration) {
+        Deltas deltas = new Deltas(size);
+        configuration.forEach((key, delta) -> deltas.put(key.ordinal(), delta, scale));
+        return deltas;
+    }
+
+    /**
+     * @return ставка по кредиту: базовая ставка с надбавками по данным скоринга
+     */
+    public @NotNull BigDecimal rate(@NotNull ScoringDataDTO request) {
+        EmploymentDTO employment = request.getEmployment();
+        Sum sum = new Sum();
+
+        sum.add(employmentStatus, employment.getEmploymentStatus());
+        sum.add(position, employment.getPosition());
+        sum.add(maritalStatus, request.getMaritalStatus());
+        if (request.getDependentAmount() > dependentsMoreThan) {
+            sum.add(dependents, 0);
+        }
+
+        Gender gender = request.getGender();
+        if (gender != null) {
+            int index = gender.ordinal();
+            if (genderAgeBand[index]) {
+                int age = request.getBirthdate().until(LocalDate.now()).getYears();
+                if (age >= genderMinAge[index] && age <= genderMaxAge[index]) {
+                    sum.add(this.gender, index);
+                }
+            } else {
+                sum.add(this.gender, index);
+            }
+        }
+
+        BigDecimal rate = defaultRate.add(BigDecimal.valueOf(sum.unscaled, scale));
+        int rateScale = Math.max(defaultRate.scale(), sum.scale);
+        return rate.scale() == rateScale ? rate : rate.setScale(rateScale, RoundingMode.UNNECESSARY);
+    }
+
+    /**
+     * Надбавки в единицах 10^-scale и их исходные масштабы; для отсутствующего правила - 0
+     */
+    private static final class Deltas {
+
+        private final long[] unscaled;
+        private final int[] scales;
+
+        Deltas(int size) {
+            this.unscaled = new long[size];
+            this.scales = new int[size];
+            Arrays.fill(scales, Integer.MIN_VALUE);
+        }
+
+        void put(int index, BigDecimal delta, int scale) {
+            unscaled[index] = delta.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            scales[index] = delta.scale();
+        }
+    }
+
+    /**
+     * Сумма применённых надбавок и наибольший из их масштабов
+     */
+    private static final class Sum {
+
+        private long unscaled;
+        private int scale = Integer.MIN_VALUE;
+
+        void add(Deltas deltas, Enum<?> key) {
+            if (key != null) {
+                add(deltas, key.ordinal());
+            }
+        }
+
+        void add(Deltas deltas, int index) {
+            unscaled += deltas.unscaled[index];
+            scale = Math.max(scale, deltas.scales[index]);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.project.conveyor.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+/**
+ * Состояние пересчёта портфеля после последнего записанного блока: сколько прочитано из входного файла
+ * и записано в выходной. Файл заменяется атомарно, поэтому после прерывания в нём всегда
+ * согласованная пара смещений; выходной файл при возобновлении обрезается до outputOffset.
+ * inputSize, inputModified и settingsFingerprint - контрольная проверка, что возобновляется тот же пересчёт.
+ * @param inputSize размер входного файла
+ * @param inputModified время изменения входного файла, мс
+ * @param settingsFingerprint ConveyorSettings.fingerprint настроек, по которым считались уже записанные анкеты
+ */
+record RepricingCheckpoint(long inputSize,
+                           long inputModified,
+                           String settingsFingerprint,
+                           long inputOffset,
+                           long outputOffset,
+                           long records,
+                           long rejected,
+                           long errors) {
+
+    /**
+     * @return сохранённое состояние или null, если файла нет
+     */
+    static RepricingCheckpoint read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return new RepricingCheckpoint(Long.parseLong(properties.getProperty("inputSize")),
+                Long.parseLong(properties.getProperty("inputModified")),
+                properties.getProperty("settingsFingerprint"),
+                Long.parseLong(properties.getProperty("inputOffset")),
+                Long.parseLong(properties.getProperty("outputOffset")),
+                Long.parseLong(properties.getProperty("records")),
+                Long.parseLong(properties.getProperty("rejected")),
+                Long.parseLong(properties.getProperty("errors")));
+    }
+
+    void write(Path file) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("inputSize", Long.toString(inputSize));
+        properties.setProperty("inputModified", Long.toString(inputModified));
+        properties.setProperty("settingsFingerprint", settingsFingerprint);
+        properties.setProperty("inputOffset", Long.toString(inputOffset));
+        properties.setProperty("outputOffset", Long.toString(outputOffset));
+        properties.setProperty("records", Long.toString(records));
+        properties.setProperty("rejected", Long.toString(rejected));
+        properties.setProperty("errors", Long.toString(errors));
+
+        StringWriter text = new StringWriter();
+        properties.store(text, null);
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(text.toString());
+
+        // Содержимое временного файла должно оказаться на диске до переименования, иначе после сбоя
+        // питания на месте контрольной точки может остаться пустой файл
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,191 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.RepricingConfiguration;
+import com.project.conveyor.exception.RejectionException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Пересчёт портфеля: скоринг, ставка и аннуитетный платёж для каждой анкеты из repricing.input
+ * по действующим настройкам, результат - в repricing.output (формат - ScoringDataCsv).
+ * Запуск: java -jar conveyor.jar --spring.main.web-application-type=none
+ * --repricing.input=portfolio.csv --repricing.output=repriced.csv; после пересчёта приложение завершается.
+ * <p>
+ * Входной файл читается через отображение в память (MappedLineReader) блоками по repricing.chunkSize
+ * строк; анкеты блока считаются параллельно на repricing.parallelism потоках, результаты записываются
+ * в порядке входного файла. В памяти одновременно находится только один блок. После каждого блока
+ * выходной файл сбрасывается на диск и записывается контрольная точка (RepricingCheckpoint);
+ * повторный запуск с теми же параметрами продолжает с неё, если не изменились входной файл и содержимое
+ * настроек - ConveyorSettings.fingerprint (иначе запуск завершается ошибкой). Скорость (записей в секунду)
+ * выводится в лог раз в repricing.progressInterval и по окончании.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "repricing.input")
+public class RepricingJob implements ApplicationRunner {
+
+    private final RepricingConfiguration repricingConfiguration;
+    private final ConveyorServiceImpl conveyorService;
+    private final ConveyorSettingsHolder settingsHolder;
+    private final ApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        reprice();
+        System.exit(SpringApplication.exit(context));
+    }
+
+    void reprice() throws IOException {
+        if (repricingConfiguration.getOutput() == null) {
+            throw new IllegalStateException("repricing.input requires repricing.output");
+        }
+        Path input = Path.of(repricingConfiguration.getInput());
+        Path output = Path.of(repricingConfiguration.getOutput());
+        Path checkpointFile = Path.of(repricingConfiguration.getCheckpoint() != null
+                ? repricingConfiguration.getCheckpoint()
+                : repricingConfiguration.getOutput() + ".checkpoint");
+
+        long inputSize = Files.size(input);
+        long inputModified = Files.getLastModifiedTime(input).toMillis();
+        // Все анкеты пересчитываются по одному снимку настроек
+        ConveyorSettings settings = settingsHolder.get();
+        RepricingCheckpoint checkpoint = RepricingCheckpoint.read(checkpointFile);
+        if (checkpoint != null && (checkpoint.inputSize() != inputSize || checkpoint.inputModified() != inputModified)) {
+            throw new IllegalStateException("Checkpoint " + checkpointFile + " was written for another input file");
+        }
+        if (checkpoint != null && !settings.getFingerprint().equals(checkpoint.settingsFingerprint())) {
+            throw new IllegalStateException("Checkpoint " + checkpointFile + " was written with other settings "
+                    + checkpoint.settingsFingerprint() + ", current settings are " + settings.getFingerprint());
+        }
+        ForkJoinPool pool = new ForkJoinPool(repricingConfiguration.getParallelism());
+
+        try (MappedLineReader reader = new MappedLineReader(input, checkpoint != null ? checkpoint.inputOffset() : 0);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (checkpoint == null) {
+                String header = reader.readLine();
+                if (!ScoringDataCsv.HEADER.equals(header)) {
+                    throw new IllegalStateException("Unexpected header in " + input + ", expected " + ScoringDataCsv.HEADER);
+                }
+                out.truncate(0);
+                write(out, ScoringDataCsv.RESULT_HEADER + '\n');
+                checkpoint = new RepricingCheckpoint(inputSize, inputModified, settings.getFingerprint(),
+                        reader.position(), out.position(), 0, 0, 0);
+                log.info("Repricing {} with settings {}", input, settings.getFingerprint());
+            } else {
+                out.truncate(checkpoint.outputOffset());
+                out.position(checkpoint.outputOffset());
+                log.info("Resuming repricing {} from record {} with settings {}",
+                        input, checkpoint.records(), settings.getFingerprint());
+            }
+
+            long startRecords = checkpoint.records();
+            long start = System.nanoTime();
+            long progressIntervalNanos = repricingConfiguration.getProgressInterval().toNanos();
+            long nextProgress = start + progressIntervalNanos;
+            List<String> lines = new ArrayList<>(repricingConfiguration.getChunkSize());
+            while (true) {
+                lines.clear();
+                String line;
+                while (lines.size() < repricingConfiguration.getChunkSize() && (line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        lines.add(line);
+                    }
+                }
+                if (lines.isEmpty()) {
+                    break;
+                }
+
+                List<Result> results = pool.submit(() -> lines.parallelStream()
+                                .map(record -> reprice(record, settings))
+                                .collect(Collectors.toList()))
+                        .join();
+                StringBuilder chunk = new StringBuilder(results.size() * 64);
+                long rejected = 0;
+                long errors = 0;
+                for (Result result : results) {
+                    chunk.append(result.line()).append('\n');
+                    rejected += result.status() == Status.REJECTED ? 1 : 0;
+                    errors += result.status() == Status.ERROR ? 1 : 0;
+                }
+                write(out, chunk);
+                out.force(false);
+
+                checkpoint = new RepricingCheckpoint(inputSize,
+                        inputModified,
+                        settings.getFingerprint(),
+                        reader.position(),
+                        out.position(),
+                        checkpoint.records() + results.size(),
+                        checkpoint.rejected() + rejected,
+                        checkpoint.errors() + errors);
+                checkpoint.write(checkpointFile);
+
+                if (System.nanoTime() - nextProgress >= 0) {
+                    logProgress("Repriced", checkpoint, startRecords, start);
+                    nextProgress = System.nanoTime() + progressIntervalNanos;
+                }
+            }
+            logProgress("Repricing finished:", checkpoint, startRecords, start);
+        } finally {
+            pool.shutdown();
+        }
+        Files.delete(checkpointFile);
+    }
+
+    private Result reprice(String line, ConveyorSettings settings) {
+        String applicationId = ScoringDataCsv.applicationId(line);
+        try {
+            return new Result(Status.OK, ScoringDataCsv.result(applicationId,
+                    conveyorService.calculationLoanSummary(ScoringDataCsv.parse(line), settings)));
+        } catch (RejectionException e) {
+            return new Result(Status.REJECTED, ScoringDataCsv.rejected(applicationId, e.getReasons()));
+        } catch (RuntimeException e) {
+            return new Result(Status.ERROR, ScoringDataCsv.error(applicationId, e));
+        }
+    }
+
+    private static void logProgress(String message, RepricingCheckpoint checkpoint, long startRecords, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("{} {} records ({} rejected, {} errors), {} records/s",
+                message,
+                checkpoint.records(),
+                checkpoint.rejected(),
+                checkpoint.errors(),
+                String.format("%.0f", (checkpoint.records() - startRecords) / Math.max(seconds, 1e-9)));
+    }
+
+    private static void write(FileChannel out, CharSequence text) throws IOException {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(text.toString());
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private enum Status {
+        OK,
+        REJECTED,
+        ERROR
+    }
+
+    private record Result(Status status, String line) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.PaymentScheduleElement;
+import com.project.conveyor.model.ScheduleJobDTO;
+import com.project.conveyor.model.enums.ScheduleJobStatus;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Фоновый расчёт графика платежей: параметры кредита известны сразу,
+ * график появляется после завершения paymentSchedule.
+ */
+public class ScheduleJob {
+
+    private final UUID id;
+    private final CreditDTO credit;
+    private final CompletableFuture<List<PaymentScheduleElement>> paymentSchedule = new CompletableFuture<>();
+    private volatile ScheduleJobStatus status = ScheduleJobStatus.PENDING;
+
+    ScheduleJob(UUID id, CreditDTO credit) {
+        this.id = id;
+        this.credit = credit;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public ScheduleJobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Завершается после расчёта графика (в том числе с ошибкой); статус к этому моменту уже DONE или FAILED
+     */
+    public CompletableFuture<List<PaymentScheduleElement>> getPaymentSchedule() {
+        return paymentSchedule;
+    }
+
+    void start() {
+        status = ScheduleJobStatus.RUNNING;
+    }
+
+    void complete(List<PaymentScheduleElement> schedule) {
+        status = ScheduleJobStatus.DONE;
+        paymentSchedule.complete(List.copyOf(schedule));
+    }
+
+    void fail(Throwable e) {
+        status = ScheduleJobStatus.FAILED;
+        paymentSchedule.completeExceptionally(e);
+    }
+
+    /**
+     * @return состояние задачи; график в параметрах кредита заполнен, только если статус DONE
+     */
+    public ScheduleJobDTO toDTO() {
+        ScheduleJobStatus status = this.status;
+        List<PaymentScheduleElement> schedule = status == ScheduleJobStatus.DONE ? paymentSchedule.join() : null;
+        return new ScheduleJobDTO(id, status, new CreditDTO(credit.getAmount(),
+                credit.getTerm(),
+                credit.getMonthlyPayment(),
+                credit.getRate(),
+                credit.getPsk(),
+                credit.getIsInsuranceEnabled(),
+                credit.getIsSalaryClient(),
+                schedule));
+    }
+}
@@ -0,0 +1,146 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.ScheduleJobConfiguration;
+import com.project.conveyor.exception.OverloadException;
+import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.ExceptionReasons;
+import com.project.conveyor.model.PaymentScheduleElement;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Фоновый расчёт графиков платежей (/conveyor/calculation/async).
+ * Графики считаются на schedule-jobs.workers потоках; задачи, для которых нет свободного потока,
+ * ждут в очереди длиной schedule-jobs.queueCapacity, при заполненной очереди новые задачи
+ * отклоняются с OverloadException.
+ * <p>
+ * Завершённая задача хранится не дольше schedule-jobs.ttl с момента завершения. Кроме того, хранятся
+ * не более schedule-jobs.maxJobs последних завершённых задач с суммарно не более schedule-jobs.maxRows
+ * строк графиков: при превышении первыми удаляются задачи, завершённые раньше. Незавершённые задачи
+ * не удаляются, их число ограничено очередью и числом потоков.
+ */
+@Component
+public class ScheduleJobs {
+
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentHashMap<UUID, ScheduleJob> jobs = new ConcurrentHashMap<>();
+    /**
+     * Завершённые задачи в порядке завершения, доступ под блокировкой finished
+     */
+    private final ArrayDeque<FinishedJob> finished = new ArrayDeque<>();
+    private final int maxJobs;
+    private final long maxRows;
+    private final long ttlNanos;
+    private long finishedRows;
+
+    public ScheduleJobs(ScheduleJobConfiguration scheduleJobConfiguration) {
+        int workers = scheduleJobConfiguration.getWorkers();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(scheduleJobConfiguration.getQueueCapacity()),
+                new CustomizableThreadFactory("schedule-job-"));
+        this.maxJobs = scheduleJobConfiguration.getMaxJobs();
+        this.maxRows = scheduleJobConfiguration.getMaxRows();
+        this.ttlNanos = scheduleJobConfiguration.getTtl().toNanos();
+    }
+
+    /**
+     * Ставит расчёт графика в очередь
+     * @param credit параметры кредита без графика
+     * @param schedule расчёт графика, выполняется на потоке обработчика
+     */
+    public ScheduleJob submit(CreditDTO credit, Supplier<List<PaymentScheduleElement>> schedule) {
+        ScheduleJob job = new ScheduleJob(UUID.randomUUID(), credit);
+        // Задача должна находиться до начала расчёта: обработчик может завершить её раньше, чем вернётся submit
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, schedule));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw new OverloadException(List.of(new ExceptionReasons("request",
+                    "Too many payment schedules are being calculated. Try again later.")));
+        }
+        return job;
+    }
+
+    private void run(ScheduleJob job, Supplier<List<PaymentScheduleElement>> schedule) {
+        job.start();
+        int rows = 0;
+        try {
+            List<PaymentScheduleElement> paymentSchedule = schedule.get();
+            rows = paymentSchedule.size();
+            job.complete(paymentSchedule);
+        } catch (Throwable e) {
+            // Задача завершается при любой ошибке, иначе она осталась бы RUNNING, а ожидающий график
+            // SSE-поток не закрылся бы; Error после этого пробрасывается обработчику потока
+            job.fail(e);
+            if (e instanceof Error error) {
+                throw error;
+            }
+        } finally {
+            finish(job, rows);
+        }
+    }
+
+    /**
+     * Начинает отсчёт ttl завершённой задачи и удаляет устаревшие задачи и задачи сверх maxJobs и maxRows
+     */
+    private void finish(ScheduleJob job, int rows) {
+        long now = System.nanoTime();
+        synchronized (finished) {
+            finished.addLast(new FinishedJob(job.getId(), rows, now));
+            finishedRows += rows;
+            while (finished.size() > maxJobs || finishedRows > maxRows) {
+                evictOldest();
+            }
+            evictExpired(now);
+        }
+    }
+
+    public Optional<ScheduleJob> find(UUID id) {
+        long now = System.nanoTime();
+        synchronized (finished) {
+            evictExpired(now);
+        }
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void evictExpired(long now) {
+        while (!finished.isEmpty() && now - finished.peekFirst().finishedAt() >= ttlNanos) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        FinishedJob oldest = finished.removeFirst();
+        finishedRows -= oldest.rows();
+        jobs.remove(oldest.id());
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record FinishedJob(UUID id, int rows, long finishedAt) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.ExceptionReasons;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Формат файлов пересчёта портфеля (RepricingJob).
+ * Входной файл - CSV с заголовком HEADER: идентификатор заявки и поля ScoringDataDTO (поля EmploymentDTO
+ * развёрнуты), значения без кавычек и запятых, пустое значение - null, даты ISO-8601, перечисления по имени.
+ * Выходной файл - CSV с заголовком RESULT_HEADER: статус OK, REJECTED (reasons - поля, не прошедшие
+ * скоринг, через ';') или ERROR (reasons - описание ошибки разбора).
+ */
+final class ScoringDataCsv {
+
+    static final String HEADER = "applicationId,amount,term,firstName,lastName,middleName,gender,birthdate,"
+            + "passportSeries,passportNumber,passportIssueDate,passportIssueBranch,maritalStatus,dependentAmount,"
+            + "employmentStatus,employerINN,salary,position,workExperienceTotal,workExperienceCurrent,"
+            + "account,isInsuranceEnabled,isSalaryClient";
+    static final String RESULT_HEADER = "applicationId,status,rate,monthlyPayment,psk,reasons";
+
+    private static final int COLUMNS = HEADER.split(",").length;
+
+    private ScoringDataCsv() {
+    }
+
+    static String applicationId(String line) {
+        int comma = line.indexOf(',');
+        return comma < 0 ? line : line.substring(0, comma);
+    }
+
+    static ScoringDataDTO parse(String line) {
+        String[] values = line.split(",", -1);
+        if (values.length != COLUMNS) {
+            throw new IllegalArgumentException("Expected " + COLUMNS + " columns, got " + values.length);
+        }
+        int i = 1;
+        BigDecimal amount = decimal(values[i++]);
+        Integer term = integer(values[i++]);
+        String firstName = string(values[i++]);
+        String lastName = string(values[i++]);
+        String middleName = string(values[i++]);
+        Gender gender = values[i].isEmpty() ? null : Gender.valueOf(values[i]);
+        i++;
+        LocalDate birthdate = date(values[i++]);
+        String passportSeries = string(values[i++]);
+        String passportNumber = string(values[i++]);
+        LocalDate passportIssueDate = date(values[i++]);
+        String passportIssueBranch = string(values[i++]);
+        MaritalStatus maritalStatus = values[i].isEmpty() ? null : MaritalStatus.valueOf(values[i]);
+        i++;
+        Integer dependentAmount = integer(values[i++]);
+        EmploymentStatus employmentStatus = values[i].isEmpty() ? null : EmploymentStatus.valueOf(values[i]);
+        i++;
+        String employerINN = string(values[i++]);
+        BigDecimal salary = decimal(values[i++]);
+        Position position = values[i].isEmpty() ? null : Position.valueOf(values[i]);
+        i++;
+        Integer workExperienceTotal = integer(values[i++]);
+        Integer workExperienceCurrent = integer(values[i++]);
+        String account = string(values[i++]);
+        Boolean isInsuranceEnabled = bool(values[i++]);
+        Boolean isSalaryClient = bool(values[i]);
+
+        return new ScoringDataDTO(amount,
+                term,
+                firstName,
+                lastName,
+                middleName,
+                gender,
+                birthdate,
+                passportSeries,
+                passportNumber,
+                passportIssueDate,
+                passportIssueBranch,
+                maritalStatus,
+                dependentAmount,
+                new EmploymentDTO(employmentStatus,
+                        employerINN,
+                        salary,
+                        position,
+                        workExperienceTotal,
+                        workExperienceCurrent),
+                account,
+                isInsuranceEnabled,
+                isSalaryClient);
+    }
+
+    static String result(String applicationId, CreditDTO credit) {
+        return applicationId + ",OK," + credit.getRate().toPlainString()
+                + ',' + credit.getMonthlyPayment().toPlainString()
+                + ',' + credit.getPsk().toPlainString() + ',';
+    }
+
+    static String rejected(String applicationId, List<ExceptionReasons> reasons) {
+        return applicationId + ",REJECTED,,,," + reasons.stream()
+                .map(ExceptionReasons::getNameField)
+                .collect(Collectors.joining(";"));
+    }
+
+    static String error(String applicationId, Exception e) {
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        return applicationId + ",ERROR,,,," + message.replaceAll("[,\\r\\n]", " ");
+    }
+
+    private static String string(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal decimal(String value) {
+        return value.isEmpty() ? null : new BigDecimal(value);
+    }
+
+    private static Integer integer(String value) {
+        return value.isEmpty() ? null : Integer.valueOf(value);
+    }
+
+    private static LocalDate date(String value) {
+        return value.isEmpty() ? null : LocalDate.parse(value);
+    }
+
+    private static Boolean bool(String value) {
+        return value.isEmpty() ? null : Boolean.valueOf(value);
+    }
+}
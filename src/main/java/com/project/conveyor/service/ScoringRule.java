@@ -0,0 +1,89 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.ExceptionReasons;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Правила скоринга в порядке, в котором причины отказа перечисляются в ответе.
+ * cost - относительная стоимость проверки: сравнение перечисления или числа дешевле умножения
+ * BigDecimal, а возраст требует текущей даты и расчёта периода.
+ */
+enum ScoringRule {
+
+    EMPLOYMENT_STATUS(1) {
+        @Override
+        ExceptionReasons check(ScoringDataDTO request, ConveyorSettings settings) {
+            if (request.getEmployment().getEmploymentStatus() == EmploymentStatus.UNEMPLOYED) {
+                return new ExceptionReasons("employmentStatus",
+                        "You're employment status is UNEMPLOYED.");
+            }
+            return null;
+        }
+    },
+
+    SALARY(4) {
+        @Override
+        ExceptionReasons check(ScoringDataDTO request, ConveyorSettings settings) {
+            // limitRequestedAmount = salary * 20.0
+            BigDecimal limitRequestedAmount = request.getEmployment().getSalary().multiply(settings.getLoanToSalaryRatio());
+            if (limitRequestedAmount.compareTo(request.getAmount()) < 0) {
+                return new ExceptionReasons("amount/salary",
+                        "The loan amount is more than 20 salaries.");
+            }
+            return null;
+        }
+    },
+
+    AGE(8) {
+        @Override
+        ExceptionReasons check(ScoringDataDTO request, ConveyorSettings settings) {
+            LocalDate birthDate = request.getBirthdate();
+            int age = birthDate.until(LocalDate.now()).getYears();
+            if (age < settings.getScoringMinAge() || age > settings.getScoringMaxAge()) {
+                return new ExceptionReasons("birthdate",
+                        "Age less than 20 or more than 60 years.");
+            }
+            return null;
+        }
+    },
+
+    WORK_EXPERIENCE_TOTAL(1) {
+        @Override
+        ExceptionReasons check(ScoringDataDTO request, ConveyorSettings settings) {
+            EmploymentDTO employment = request.getEmployment();
+            if (employment.getWorkExperienceTotal() < settings.getMinWorkExperienceTotal()) {
+                return new ExceptionReasons("workExperienceTotal",
+                        "Total experience less than 12 months.");
+            }
+            return null;
+        }
+    },
+
+    WORK_EXPERIENCE_CURRENT(1) {
+        @Override
+        ExceptionReasons check(ScoringDataDTO request, ConveyorSettings settings) {
+            EmploymentDTO employment = request.getEmployment();
+            if (employment.getWorkExperienceCurrent() <= settings.getMinWorkExperienceCurrent()) {
+                return new ExceptionReasons("workExperienceCurrent",
+                        "Current experience less than 3 months.");
+            }
+            return null;
+        }
+    };
+
+    final int cost;
+
+    ScoringRule(int cost) {
+        this.cost = cost;
+    }
+
+    /**
+     * @return причина отказа или null, если правило выполнено
+     */
+    abstract ExceptionReasons check(ScoringDataDTO request, ConveyorSettings settings);
+}
@@ -0,0 +1,130 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.ExceptionReasons;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.ScoringMode;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Проверка правил скоринга.
+ * В режиме ALL_REASONS проверяются все правила в порядке ScoringRule. В режиме FAIL_FAST проверка
+ * останавливается на первом нарушенном правиле, а правила упорядочены по возрастанию
+ * cost / P(отказ): так минимизируется средняя стоимость проверки заявки, которая получит отказ.
+ * <p>
+ * Вероятность отказа по правилу оценивается (со сглаживанием Лапласа) только по проверкам ALL_REASONS:
+ * в FAIL_FAST правило проверяется лишь после того, как выполнены предыдущие, и доля отказов по нему
+ * смещена. Статистика собирается по каждой SAMPLE_RATE-й в среднем проверке, а порядок пересчитывается
+ * фоновым потоком раз в REORDER_INTERVAL_MILLIS, поэтому поток запроса общих счётчиков почти не трогает.
+ * Пока статистики нет, правила упорядочены по стоимости.
+ */
+@Component
+public class ScoringRules {
+
+    private static final int SAMPLE_RATE = 64;
+    private static final long REORDER_INTERVAL_MILLIS = 1000;
+    private static final ScoringRule[] RULES = ScoringRule.values();
+
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder[] rejected = new LongAdder[RULES.length];
+    private final boolean statistics;
+    /** null, если статистика не собирается */
+    private final ScheduledExecutorService reorderExecutor;
+    private volatile ScoringRule[] failFastOrder;
+
+    public ScoringRules() {
+        this(true);
+    }
+
+    private ScoringRules(boolean statistics) {
+        this.statistics = statistics;
+        for (int i = 0; i < RULES.length; i++) {
+            rejected[i] = new LongAdder();
+        }
+        reorder();
+        if (statistics) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("scoring-rules-");
+            threadFactory.setDaemon(true);
+            this.reorderExecutor = new ScheduledThreadPoolExecutor(1, threadFactory);
+            reorderExecutor.scheduleWithFixedDelay(this::reorder,
+                    REORDER_INTERVAL_MILLIS, REORDER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            this.reorderExecutor = null;
+        }
+    }
+
+    /**
+     * @return правила без статистики отказов и фонового потока: порядок FAIL_FAST - по стоимости
+     */
+    static ScoringRules withoutStatistics() {
+        return new ScoringRules(false);
+    }
+
+    /**
+     * @return причины отказа; пустой список, если заявка прошла скоринг
+     */
+    List<ExceptionReasons> check(ScoringDataDTO request, ConveyorSettings settings, ScoringMode mode) {
+        if (mode == ScoringMode.FAIL_FAST) {
+            for (ScoringRule rule : failFastOrder) {
+                ExceptionReasons reason = rule.check(request, settings);
+                if (reason != null) {
+                    return List.of(reason);
+                }
+            }
+            return List.of();
+        }
+        boolean sample = statistics && ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0;
+        List<ExceptionReasons> reasons = new ArrayList<>();
+        for (ScoringRule rule : RULES) {
+            ExceptionReasons reason = rule.check(request, settings);
+            if (reason != null) {
+                reasons.add(reason);
+                if (sample) {
+                    rejected[rule.ordinal()].increment();
+                }
+            }
+        }
+        if (sample) {
+            sampled.increment();
+        }
+        return reasons;
+    }
+
+    /**
+     * @return текущий порядок проверки правил в режиме FAIL_FAST
+     */
+    List<ScoringRule> getFailFastOrder() {
+        return List.of(failFastOrder);
+    }
+
+    void reorder() {
+        double evaluated = sampled.sum();
+        double[] expectedCost = new double[RULES.length];
+        for (ScoringRule rule : RULES) {
+            int i = rule.ordinal();
+            double rejectionProbability = (rejected[i].sum() + 1.0) / (evaluated + 2.0);
+            expectedCost[i] = rule.cost / rejectionProbability;
+        }
+        ScoringRule[] order = RULES.clone();
+        Arrays.sort(order, Comparator.comparingDouble(rule -> expectedCost[rule.ordinal()]));
+        failFastOrder = order;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (reorderExecutor != null) {
+            reorderExecutor.shutdownNow();
+        }
+    }
+}
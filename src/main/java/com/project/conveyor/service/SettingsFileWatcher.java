@@ -0,0 +1,100 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.SettingsConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обновление настроек при изменении settings.file (settings.watch: true).
+ * Редакторы часто пишут файл в несколько приёмов, поэтому после первого события
+ * наблюдатель ждёт, пока изменения не прекратятся, и обновляет настройки один раз.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "settings.watch", havingValue = "true")
+public class SettingsFileWatcher {
+
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final ConveyorSettingsHolder settingsHolder;
+    private final Path file;
+    private final WatchService watchService;
+
+    public SettingsFileWatcher(ConveyorSettingsHolder settingsHolder,
+                               SettingsConfiguration settingsConfiguration) throws IOException {
+        if (!StringUtils.hasText(settingsConfiguration.getFile())) {
+            throw new IllegalStateException("settings.watch requires settings.file");
+        }
+        this.settingsHolder = settingsHolder;
+        this.file = Path.of(settingsConfiguration.getFile()).toAbsolutePath();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    @PostConstruct
+    void start() {
+        Thread thread = new Thread(this::watch, "settings-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        watchService.close();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                if (isFileChanged(watchService.take())) {
+                    // Дожидаемся окончания записи файла
+                    WatchKey key;
+                    while ((key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                        isFileChanged(key);
+                    }
+                    refresh();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // приложение останавливается
+        }
+    }
+
+    private boolean isFileChanged(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path path && file.getFileName().equals(path)) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void refresh() {
+        try {
+            ConveyorSettings settings = settingsHolder.refresh();
+            log.info("Settings reloaded from {}, version {}", file, settings.getVersion());
+        } catch (RuntimeException e) {
+            log.warn("Settings were not reloaded from {}, keeping version {}", file, settingsHolder.get().getVersion(), e);
+        }
+    }
+}
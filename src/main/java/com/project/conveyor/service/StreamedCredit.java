@@ -0,0 +1,16 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.PaymentScheduleElement;
+import lombok.Value;
+
+import java.util.Iterator;
+
+/**
+ * Параметры кредита (без графика) и график платежей, строки которого рассчитываются по мере обхода
+ */
+@Value
+public class StreamedCredit {
+    CreditDTO credit;
+    Iterator<PaymentScheduleElement> paymentSchedule;
+}
@@ -0,0 +1,82 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.cache.BoundedCache;
+import com.project.conveyor.config.ScheduleConfiguration;
+import com.project.conveyor.model.PaymentScheduleElement;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+/**
+ * Расчёт графика по шаблонам AmortizationTemplate, общим для кредитов с одинаковыми ставкой,
+ * сроком и датой первого платежа (кредиты, оформленные в один день по типовым условиям).
+ * Результат тот же, что у BigDecimalPaymentScheduleEngine; для параметров, не поддерживаемых
+ * целочисленным расчётом, используется BigDecimal.
+ * <p>
+ * Шаблон хранит по строке на платёж, поэтому шаблоны строятся только для сроков не больше
+ * schedule.templateMaxTerm: кэш занимает не больше templateCacheSize * templateMaxTerm строк.
+ * Графики на больший срок считаются целочисленно без шаблона.
+ */
+@Component
+@ConditionalOnProperty(name = "schedule.engine", havingValue = "template")
+public class TemplatePaymentScheduleEngine implements PaymentScheduleEngine {
+
+    private final DayCountTable dayCountTable;
+    private final BoundedCache<TemplateKey, AmortizationTemplate> templates;
+    private final int templateMaxTerm;
+
+    public TemplatePaymentScheduleEngine(DayCountTable dayCountTable, ScheduleConfiguration scheduleConfiguration) {
+        this.dayCountTable = dayCountTable;
+        this.templateMaxTerm = scheduleConfiguration.getTemplateMaxTerm();
+        this.templates = new BoundedCache<>(scheduleConfiguration.getTemplateCacheSize());
+    }
+
+    @Override
+    public @NotNull Iterator<PaymentScheduleElement> schedule(@NotNull BigDecimal amount,
+                                                              @NotNull BigDecimal rate,
+                                                              int term,
+                                                              @NotNull BigDecimal monthlyPayment,
+                                                              @NotNull LocalDate dateFirstPayment) {
+        if (!FixedPointPaymentScheduleIterator.isSupported(amount, rate, monthlyPayment)) {
+            return new PaymentScheduleIterator(amount, rate, term, monthlyPayment, dateFirstPayment, dayCountTable);
+        }
+        if (term > templateMaxTerm) {
+            return FixedPointPaymentScheduleIterator.of(amount, rate, term, monthlyPayment, dateFirstPayment, dayCountTable);
+        }
+        AmortizationTemplate template = templates.get(new TemplateKey(rate, term, dateFirstPayment),
+                key -> AmortizationTemplate.of(key.rate(), key.term(), key.dateFirstPayment(), dayCountTable));
+        return new TemplatePaymentScheduleIterator(amount, monthlyPayment, template, dayCountTable);
+    }
+
+    /**
+     * Шаблоны строятся для графика целиком, поэтому продолжение графика считается без шаблона
+     */
+    @Override
+    public @NotNull Iterator<PaymentScheduleElement> schedule(@NotNull BigDecimal remainingDebt,
+                                                              @NotNull BigDecimal rate,
+                                                              int term,
+                                                              @NotNull BigDecimal monthlyPayment,
+                                                              @NotNull LocalDate datePayment,
+                                                              int firstIndex) {
+        return FixedPointPaymentScheduleIterator.of(remainingDebt, rate, term, monthlyPayment, datePayment, firstIndex, dayCountTable);
+    }
+
+    public long getHitCount() {
+        return templates.getHitCount();
+    }
+
+    public long getMissCount() {
+        return templates.getMissCount();
+    }
+
+    public int getSize() {
+        return templates.size();
+    }
+
+    private record TemplateKey(BigDecimal rate, int term, LocalDate dateFirstPayment) {
+    }
+}
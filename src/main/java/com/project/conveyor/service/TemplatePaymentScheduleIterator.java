@@ -0,0 +1,83 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.PaymentScheduleElement;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Расчёт графика платежей в копейках по шаблону AmortizationTemplate.
+ * Строки совпадают с FixedPointPaymentScheduleIterator (а значит, и с PaymentScheduleIterator):
+ * проценты каждой строки считаются от фактического остатка долга, дробь процентов и дата берутся из шаблона.
+ * Если остаток выходит за допустимый диапазон, оставшиеся строки досчитываются PaymentScheduleIterator.
+ */
+class TemplatePaymentScheduleIterator implements Iterator<PaymentScheduleElement> {
+
+    private final AmortizationTemplate template;
+    private final DayCountTable dayCountTable;
+    private final BigDecimal monthlyPayment;
+    private final long monthlyPaymentKopecks;
+    private long remainingDebt;
+    private int i;
+    private Iterator<PaymentScheduleElement> fallback;
+
+    TemplatePaymentScheduleIterator(BigDecimal amount,
+                                    BigDecimal monthlyPayment,
+                                    AmortizationTemplate template,
+                                    DayCountTable dayCountTable) {
+        this.template = template;
+        this.dayCountTable = dayCountTable;
+        this.monthlyPayment = monthlyPayment;
+        this.monthlyPaymentKopecks = FixedPointPaymentScheduleIterator.toKopecks(monthlyPayment);
+        this.remainingDebt = FixedPointPaymentScheduleIterator.toKopecks(amount);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return fallback != null ? fallback.hasNext() : i < template.term;
+    }
+
+    @Override
+    public PaymentScheduleElement next() {
+        if (fallback != null) {
+            return fallback.next();
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (Math.abs(remainingDebt) > FixedPointPaymentScheduleIterator.MAX_DEBT) {
+            fallback = new PaymentScheduleIterator(BigDecimal.valueOf(remainingDebt, 2),
+                    template.rate, template.term, monthlyPayment, template.dates[i], i, dayCountTable);
+            return fallback.next();
+        }
+
+        long interestPayment = template.interest(i, remainingDebt);
+
+        BigDecimal totalPayment;
+        long debtPayment;
+        BigDecimal remainingDebtValue;
+        if (i == template.term - 1) {        /* последний платёж состоит из остатка долга + проценты */
+            totalPayment = BigDecimal.valueOf(remainingDebt + interestPayment, 2);
+            debtPayment = remainingDebt;
+            remainingDebt = 0;
+            remainingDebtValue = BigDecimal.valueOf(0);
+        } else {
+            totalPayment = monthlyPayment;
+            debtPayment = monthlyPaymentKopecks - interestPayment;
+            remainingDebt -= debtPayment;
+            remainingDebtValue = BigDecimal.valueOf(remainingDebt, 2);
+        }
+
+        PaymentScheduleElement payment = new PaymentScheduleElement(i + 1,
+                template.dates[i],
+                totalPayment,
+                BigDecimal.valueOf(interestPayment, 2),
+                BigDecimal.valueOf(debtPayment, 2),
+                remainingDebtValue);
+
+        i++;
+
+        return payment;
+    }
+}
@@ -0,0 +1,186 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.AnnuityCacheConfiguration;
+import com.project.conveyor.config.OfferCacheConfiguration;
+import com.project.conveyor.config.WarmUpConfiguration;
+import com.project.conveyor.exception.RejectionException;
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.LoanApplicationRequestDTO;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+import com.project.conveyor.model.enums.ScoringMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Прогрев JIT перед приёмом трафика (warm-up.enabled).
+ * Выполняется до ApplicationReadyEvent, поэтому readiness-проба (/actuator/health/readiness) отвечает
+ * OUT_OF_SERVICE, пока прогрев не закончится; затем Spring Boot переводит приложение в ACCEPTING_TRAFFIC.
+ * <p>
+ * Прогрев вызывает getLoanOffers и calculationLoanParams пакетами по warm-up.batchSize синтетических заявок,
+ * которые перебирают все значения перечислений, режимы скоринга и отказы на прескоринге и скоринге.
+ * Прогрев заканчивается, когда среднее время операции в warm-up.stableBatches пакетах подряд отличается
+ * от предыдущего пакета не больше чем на warm-up.tolerance (но не раньше warm-up.minBatches пакетов),
+ * или по истечении warm-up.maxDuration.
+ * <p>
+ * Заявки обрабатывает ConveyorServiceImpl.forWarmUp - рабочий сервис с собственными кэшами коэффициентов
+ * аннуитета и предложений, правилами скоринга без статистики и отключёнными метриками: JIT компилирует тот же
+ * код, а синтетические заявки не попадают в метрики и кэши коэффициентов и предложений и не влияют на порядок
+ * проверок FAIL_FAST. Движок расчёта графика общий: при schedule.engine=template шаблоны графиков,
+ * рассчитанные при прогреве, остаются в кэше шаблонов и учитываются в его метриках.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final int[] TERMS = {6, 12, 18, 24, 36, 48, 60, 84, 120, 180, 240, 300, 360};
+
+    private final WarmUpConfiguration warmUpConfiguration;
+    private final ApplicationContext context;
+    private final ConveyorSettingsHolder settingsHolder;
+    private final AnnuityCacheConfiguration annuityCacheConfiguration;
+    private final ConveyorServiceImpl conveyorService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmUpConfiguration.isEnabled()) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+
+        warmUp(conveyorService.forWarmUp(new AnnuityCalculator(settingsHolder, annuityCacheConfiguration),
+                new LoanOfferCache(new OfferCacheConfiguration())));
+    }
+
+    private void warmUp(ConveyorServiceImpl service) {
+        int batchSize = warmUpConfiguration.getBatchSize();
+        double tolerance = warmUpConfiguration.getTolerance();
+        long start = System.nanoTime();
+        long deadline = start + warmUpConfiguration.getMaxDuration().toNanos();
+
+        int batches = 0;
+        int stableBatches = 0;
+        double firstLatency = 0;
+        double previousLatency = 0;
+        double latency = 0;
+        while (true) {
+            long batchStart = System.nanoTime();
+            for (int i = 0; i < batchSize; i++) {
+                run(service, batches * batchSize + i);
+            }
+            latency = (System.nanoTime() - batchStart) / 1_000.0 / batchSize;
+            batches++;
+            if (batches == 1) {
+                firstLatency = latency;
+            } else if (Math.abs(latency - previousLatency) <= tolerance * previousLatency) {
+                stableBatches++;
+            } else {
+                stableBatches = 0;
+            }
+            previousLatency = latency;
+
+            if (batches >= warmUpConfiguration.getMinBatches() && stableBatches >= warmUpConfiguration.getStableBatches()) {
+                break;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                log.warn("Warm-up latency did not stabilize within {}", warmUpConfiguration.getMaxDuration());
+                break;
+            }
+        }
+        log.info("Warm-up finished in {} ms: {} operations, latency {} us/op (first batch {} us/op)",
+                (System.nanoTime() - start) / 1_000_000,
+                batches * batchSize,
+                String.format("%.1f", latency),
+                String.format("%.1f", firstLatency));
+    }
+
+    private static void run(ConveyorServiceImpl service, int i) {
+        try {
+            service.getLoanOffers(loanApplication(i));
+        } catch (RejectionException e) {
+            // Отказы на прескоринге тоже прогреваются
+        }
+        try {
+            service.calculationLoanParams(scoringData(i), (i & 1) == 0 ? ScoringMode.ALL_REASONS : ScoringMode.FAIL_FAST);
+        } catch (RejectionException e) {
+            // Отказы на скоринге тоже прогреваются
+        }
+    }
+
+    /**
+     * Каждая восьмая заявка не проходит прескоринг
+     */
+    private static LoanApplicationRequestDTO loanApplication(int i) {
+        boolean rejected = i % 8 == 7;
+        return new LoanApplicationRequestDTO(
+                rejected && (i & 8) == 0 ? BigDecimal.valueOf(5_000) : amount(i),
+                TERMS[i % TERMS.length],
+                "Ivan",
+                "Ivanov",
+                i % 3 == 0 ? null : "Ivanovich",
+                rejected && (i & 8) != 0 ? "ivan.ivanov" : "ivan.ivanov" + i + "@mail.ru",
+                LocalDate.now().minusYears(18 + i % 50).minusDays(i % 365),
+                String.format("%04d", i % 10_000),
+                String.format("%06d", i % 1_000_000));
+    }
+
+    /**
+     * Перебор всех значений перечислений; часть анкет не проходит скоринг (безработный,
+     * зарплата, возраст, стаж)
+     */
+    private static ScoringDataDTO scoringData(int i) {
+        EmploymentStatus[] employmentStatuses = EmploymentStatus.values();
+        Position[] positions = Position.values();
+        MaritalStatus[] maritalStatuses = MaritalStatus.values();
+        Gender[] genders = Gender.values();
+
+        BigDecimal amount = amount(i);
+        BigDecimal salary = i % 16 == 5 ? BigDecimal.valueOf(1_000) : amount.divide(BigDecimal.valueOf(15), 2, RoundingMode.HALF_EVEN);
+        EmploymentDTO employment = new EmploymentDTO(
+                employmentStatuses[i % employmentStatuses.length],
+                "7707083893",
+                salary,
+                positions[i / employmentStatuses.length % positions.length],
+                i % 32 == 9 ? 6 : 12 + i % 300,
+                i % 32 == 17 ? 2 : 4 + i % 120);
+        return new ScoringDataDTO(
+                amount,
+                TERMS[i % TERMS.length],
+                "Ivan",
+                "Ivanov",
+                "Ivanovich",
+                genders[i / 6 % genders.length],
+                LocalDate.now().minusYears(i % 32 == 25 ? 70 : 21 + i % 39).minusDays(i % 365),
+                String.format("%04d", i % 10_000),
+                String.format("%06d", i % 1_000_000),
+                LocalDate.of(2015, 5, 20),
+                "MVD",
+                maritalStatuses[i / 18 % maritalStatuses.length],
+                i % 4,
+                employment,
+                "40817810099910004312",
+                (i & 2) == 0,
+                (i & 4) == 0);
+    }
+
+    /**
+     * Суммы от 10 тыс. до 5 млн. с копейками, чтобы заявки не попадали в кэш предложений
+     */
+    private static BigDecimal amount(int i) {
+        return BigDecimal.valueOf(1_000_000L + (i * 7_919L) % 499_000_000L, 2);
+    }
+}
@@ -1,13 +1,26 @@
 package com.project.conveyor;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(properties = "warm-up.enabled=false")
 class ConveyorApplicationTests {
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void conveyorMetersAreRegistered() {
+		assertFalse(meterRegistry.find("conveyor.stage").timers().isEmpty());
+		assertFalse(meterRegistry.find("conveyor.annuity.cache.size").gauges().isEmpty());
+	}
+
 }
@@ -0,0 +1,69 @@
+package com.project.conveyor.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ограничение размера, вытеснение неиспользованных записей, ttl и счётчики попаданий
+ */
+class BoundedCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<Integer, String> loader = key -> {
+        loads.incrementAndGet();
+        return "value-" + key;
+    };
+
+    @Test
+    void usedEntrySurvivesEviction() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(2);
+        cache.get(1, loader);
+        cache.get(2, loader);
+        assertEquals("value-1", cache.get(1, loader));
+        cache.get(3, loader);
+
+        assertEquals(2, cache.size());
+        assertEquals(3, loads.get());
+        cache.get(1, loader);
+        assertEquals(3, loads.get());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+    }
+
+    @Test
+    void sizeStaysBoundedUnderConcurrentMisses() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(100);
+        IntStream.range(0, 100_000).parallel().forEach(i -> assertEquals("value-" + (i % 1_000), cache.get(i % 1_000, loader)));
+        assertTrue(cache.size() <= 100, () -> "size " + cache.size());
+        assertEquals(100_000, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    void expiredEntryIsReloaded() throws InterruptedException {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(10, Duration.ofMillis(50));
+        cache.get(1, loader);
+        cache.get(1, loader);
+        assertEquals(1, loads.get());
+        Thread.sleep(100);
+        cache.get(1, loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateAllClearsEntries() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>(10);
+        List.of(1, 2, 3).forEach(key -> cache.get(key, loader));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        cache.get(1, loader);
+        assertEquals(4, loads.get());
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.conveyor.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Выбор формата ответа по Accept и запись BigDecimal в CBOR (servlet-режим; reactive проверяется
+ * в ReactiveConveyorControllerTest)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "warm-up.enabled=false")
+class CborConfigurationTest {
+
+    private static final int DECIMAL_FRACTION_TAG = 4;
+
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build()
+            .setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToEnable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .build()
+            .setNodeFactory(JsonNodeFactory.withExactBigDecimals(true));
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void anyAcceptGetsJson() {
+        webTestClient.post().uri("/conveyor/calculation")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.ALL)
+                .bodyValue(scoringData())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void cborAcceptGetsCbor() {
+        webTestClient.post().uri("/conveyor/calculation")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(scoringData())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR);
+    }
+
+    /**
+     * Запрос в CBOR, ответ в CBOR и в JSON: суммы в CBOR записаны тегом 4 и совпадают с JSON
+     * вместе с масштабом (equals у BigDecimal учитывает масштаб)
+     */
+    @Test
+    void bigDecimalKeepsScaleAsDecimalFraction() throws IOException {
+        byte[] request = cborMapper.writeValueAsBytes(scoringData());
+        byte[] cbor = calculation(request, MediaType.APPLICATION_CBOR);
+        JsonNode json = jsonMapper.readTree(calculation(request, MediaType.APPLICATION_JSON));
+
+        // Ключ monthlyPayment (текстовая строка из 14 байт), за которым сразу идёт тег 4 и массив [exponent, mantissa]
+        byte[] key = "monthlyPayment".getBytes(StandardCharsets.US_ASCII);
+        int keyAt = indexOf(cbor, key);
+        assertTrue(keyAt > 0, "monthlyPayment not found");
+        assertEquals((byte) (0x60 | key.length), cbor[keyAt - 1]);
+        assertEquals((byte) (0xC0 | DECIMAL_FRACTION_TAG), cbor[keyAt + key.length]);
+        assertEquals((byte) 0x82, cbor[keyAt + key.length + 1]);
+
+        JsonNode credit = cborMapper.readTree(cbor);
+        for (String field : new String[]{"amount", "monthlyPayment", "rate", "psk"}) {
+            assertEquals(json.get(field).decimalValue(), credit.get(field).decimalValue(), field);
+        }
+        assertEquals(json.get("paymentSchedule").get(0).get("totalPayment").decimalValue(),
+                credit.get("paymentSchedule").get(0).get("totalPayment").decimalValue());
+    }
+
+    private byte[] calculation(byte[] request, MediaType accept) {
+        return webTestClient.post().uri("/conveyor/calculation")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(accept)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        for (int i = 0; i + pattern.length <= data.length; i++) {
+            if (Arrays.equals(data, i, i + pattern.length, pattern, 0, pattern.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ScoringDataDTO scoringData() {
+        return new ScoringDataDTO(new BigDecimal("300000.50"), 12, "Ivan", "Ivanov", "Ivanovich", Gender.MALE,
+                LocalDate.of(1990, 1, 1), "1234", "123456", LocalDate.of(2015, 1, 1), "MVD", MaritalStatus.MARRIED, 1,
+                new EmploymentDTO(EmploymentStatus.SELF_EMPLOYED, "7707083893", BigDecimal.valueOf(50_000),
+                        Position.MIDDLE_MANAGER, 24, 12),
+                "40817810099910004312", true, false);
+    }
+}
@@ -0,0 +1,112 @@
+package com.project.conveyor.controller;
+
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.LoanApplicationRequestDTO;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Точки входа WebFlux (spring.main.web-application-type: reactive) и ответы на ошибки ReactiveExceptionController
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.main.web-application-type=reactive", "warm-up.enabled=false"})
+class ReactiveConveyorControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void offers() {
+        webTestClient.post().uri("/conveyor/offers")
+                .bodyValue(loanApplication(BigDecimal.valueOf(100_000)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(4);
+    }
+
+    @Test
+    void prescoringRejectionIsBadRequest() {
+        webTestClient.post().uri("/conveyor/offers")
+                .bodyValue(loanApplication(BigDecimal.valueOf(5_000)))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.details[0].nameField").isEqualTo("amount");
+    }
+
+    @Test
+    void calculation() {
+        webTestClient.post().uri("/conveyor/calculation")
+                .bodyValue(scoringData())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.term").isEqualTo(12)
+                .jsonPath("$.paymentSchedule.length()").isEqualTo(12);
+    }
+
+    @Test
+    void streamedCalculation() {
+        webTestClient.post().uri("/conveyor/calculation")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(scoringData())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    void anyAcceptGetsJson() {
+        webTestClient.post().uri("/conveyor/calculation")
+                .accept(MediaType.ALL)
+                .bodyValue(scoringData())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void cborAcceptGetsCbor() {
+        webTestClient.post().uri("/conveyor/calculation")
+                .accept(MediaType.APPLICATION_CBOR)
+                .bodyValue(scoringData())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR);
+    }
+
+    @Test
+    void unknownJobIsNotFound() {
+        webTestClient.get().uri("/conveyor/calculation/jobs/{jobId}", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.details[0].nameField").isEqualTo("jobId");
+    }
+
+    private static LoanApplicationRequestDTO loanApplication(BigDecimal amount) {
+        return new LoanApplicationRequestDTO(amount, 12, "Ivan", "Ivanov", "Ivanovich", "ivan@mail.ru",
+                LocalDate.of(1990, 1, 1), "1234", "123456");
+    }
+
+    private static ScoringDataDTO scoringData() {
+        return new ScoringDataDTO(BigDecimal.valueOf(300_000), 12, "Ivan", "Ivanov", "Ivanovich", Gender.MALE,
+                LocalDate.of(1990, 1, 1), "1234", "123456", LocalDate.of(2015, 1, 1), "MVD", MaritalStatus.MARRIED, 1,
+                new EmploymentDTO(EmploymentStatus.SELF_EMPLOYED, "7707083893", BigDecimal.valueOf(50_000),
+                        Position.MIDDLE_MANAGER, 24, 12),
+                "40817810099910004312", true, false);
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.OfferCacheConfiguration;
+import com.project.conveyor.model.LoanOfferDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+/**
+ * Изменение предложений, полученных из кэша, не затрагивает кэш и ответы другим запросам
+ */
+class LoanOfferCacheTest {
+
+    @Test
+    void cachedOffersAreCopiedForEveryRequest() {
+        LoanOfferCache cache = new LoanOfferCache(new OfferCacheConfiguration());
+        AtomicInteger loads = new AtomicInteger();
+        BigDecimal amount = new BigDecimal("100000.00");
+
+        List<LoanOfferDTO> first = cache.get(1, amount, 12, () -> {
+            loads.incrementAndGet();
+            return List.of(offer(amount, true), offer(amount, false));
+        });
+        first.get(0).setRate(BigDecimal.ZERO);
+        first.get(1).setRequestedAmount(BigDecimal.ONE);
+
+        List<LoanOfferDTO> second = cache.get(1, amount, 12, () -> {
+            throw new AssertionError("Offers must be cached");
+        });
+        assertEquals(1, loads.get());
+        assertEquals(List.of(offer(amount, true), offer(amount, false)), second);
+        assertNotSame(first.get(0), second.get(0));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    private static LoanOfferDTO offer(BigDecimal amount, boolean isInsuranceEnabled) {
+        return new LoanOfferDTO(1L, amount, new BigDecimal("118877.08"), 12, new BigDecimal("9073.09"),
+                BigDecimal.valueOf(16.0), isInsuranceEnabled, true);
+    }
+}
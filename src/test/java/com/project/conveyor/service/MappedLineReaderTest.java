@@ -0,0 +1,100 @@
+package com.project.conveyor.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Чтение малыми окнами: строки, пересекающие границу окна (в том числе между \r и \n), \r\n,
+ * последняя строка без перевода строки и продолжение с начала любой строки дают те же строки,
+ * что и чтение файла целиком.
+ */
+class MappedLineReaderTest {
+
+    private static final String TEXT = "header\r\n"
+            + "first,1\n"
+            + "\n"
+            + "second,Жёлтый\r\n"
+            + "третья строка\n"
+            + "\r\n"
+            + "last";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyWindowSizeReadsSameLines() throws IOException {
+        for (String text : List.of(TEXT, TEXT + "\n", TEXT + "\r\n")) {
+            Path file = write(text);
+            List<String> expected = text.lines().toList();
+            int longestLine = expected.stream().mapToInt(line -> line.getBytes(StandardCharsets.UTF_8).length).max().orElseThrow();
+            for (int windowSize = longestLine + 2; windowSize <= text.length() * 2 + 1; windowSize++) {
+                try (MappedLineReader reader = new MappedLineReader(file, 0, windowSize)) {
+                    assertEquals(expected, readAll(reader), "window " + windowSize);
+                }
+            }
+        }
+    }
+
+    @Test
+    void readingResumesFromLineOffset() throws IOException {
+        Path file = write(TEXT);
+        List<String> lines = TEXT.lines().toList();
+        List<Long> offsets = new ArrayList<>();
+        try (MappedLineReader reader = new MappedLineReader(file, 0, 32)) {
+            do {
+                offsets.add(reader.position());
+            } while (reader.readLine() != null);
+        }
+        assertEquals(lines.size() + 1, offsets.size());
+        assertEquals(Files.size(file), offsets.get(lines.size()));
+
+        for (int i = 0; i < offsets.size(); i++) {
+            for (int windowSize : new int[] {26, 27, 33, 64}) {
+                try (MappedLineReader reader = new MappedLineReader(file, offsets.get(i), windowSize)) {
+                    assertEquals(lines.subList(i, lines.size()), readAll(reader), "line " + i + ", window " + windowSize);
+                }
+            }
+        }
+    }
+
+    @Test
+    void lineLongerThanWindowIsRejected() throws IOException {
+        Path file = write("short\n" + "x".repeat(20) + "\nshort\n");
+        try (MappedLineReader reader = new MappedLineReader(file, 0, 16)) {
+            assertEquals("short", reader.readLine());
+            assertThrows(IOException.class, reader::readLine);
+        }
+    }
+
+    @Test
+    void emptyFileHasNoLines() throws IOException {
+        try (MappedLineReader reader = new MappedLineReader(write(""), 0, 16)) {
+            assertNull(reader.readLine());
+            assertEquals(0, reader.position());
+        }
+    }
+
+    private Path write(String text) throws IOException {
+        return Files.writeString(Files.createTempFile(directory, "lines", ".csv"), text, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readAll(MappedLineReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.AnnuityCacheConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ConveyorServiceImpl.maxAmount: платёж по найденной сумме не больше maxMonthlyPayment,
+ * а по сумме на копейку больше - уже больше
+ */
+class MaxAmountTest {
+
+    private static final BigDecimal KOPECK = BigDecimal.valueOf(1, 2);
+
+    private final AnnuityCalculator annuityCalculator = new AnnuityCalculator(null, new AnnuityCacheConfiguration());
+
+    @Test
+    void maxAmountIsLargestAffordableAmount() {
+        SplittableRandom random = new SplittableRandom(2025);
+        for (int n = 0; n < 200; n++) {
+            BigDecimal rate = BigDecimal.valueOf(100 + random.nextInt(3_000), 2);
+            List<BigDecimal> annuityRatios = annuityCalculator.annuityRatios(rate, 6, 360, 1);
+            for (int i = 0; i < 50; i++) {
+                BigDecimal annuityRatio = annuityRatios.get(random.nextInt(annuityRatios.size()));
+                BigDecimal maxMonthlyPayment = BigDecimal.valueOf(1_000_00L + random.nextLong(10_000_000_00L), 2);
+                BigDecimal amount = ConveyorServiceImpl.maxAmount(annuityRatio, maxMonthlyPayment);
+                String message = "ratio=" + annuityRatio + " maxMonthlyPayment=" + maxMonthlyPayment + " amount=" + amount;
+                assertTrue(payment(amount, annuityRatio).compareTo(maxMonthlyPayment) <= 0, message);
+                assertTrue(payment(amount.add(KOPECK), annuityRatio).compareTo(maxMonthlyPayment) > 0, message);
+            }
+        }
+    }
+
+    private static BigDecimal payment(BigDecimal amount, BigDecimal annuityRatio) {
+        return amount.multiply(annuityRatio).setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,204 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.ScheduleConfiguration;
+import com.project.conveyor.model.PaymentScheduleElement;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Целочисленный расчёт графика (в том числе по шаблонам) должен давать те же строки, что и BigDecimal-расчёт,
+ * включая масштаб каждого значения (equals у BigDecimal учитывает масштаб).
+ */
+class PaymentScheduleEngineConformanceTest {
+
+    /** Таблица покрывает только часть проверяемых дат, остальные считаются на месте */
+    private final DayCountTable dayCountTable = new DayCountTable(DayCountConvention.ACT_ACT, LocalDate.of(2010, 1, 1), 30);
+    private final PaymentScheduleEngine reference = new BigDecimalPaymentScheduleEngine(dayCountTable);
+    private final PaymentScheduleEngine fixedPoint = new FixedPointPaymentScheduleEngine(dayCountTable);
+    private final PaymentScheduleEngine template = new TemplatePaymentScheduleEngine(dayCountTable, new ScheduleConfiguration());
+
+    @Test
+    void randomCreditsProduceIdenticalSchedules() {
+        SplittableRandom random = new SplittableRandom(20230101);
+        for (int n = 0; n < 5_000; n++) {
+            BigDecimal amount = BigDecimal.valueOf(10_000_00L + random.nextLong(50_000_000_00L), 2)
+                    .setScale(random.nextInt(3), RoundingMode.DOWN);
+            BigDecimal rate = BigDecimal.valueOf(200 + random.nextInt(2_800), 2).setScale(random.nextInt(3), RoundingMode.DOWN);
+            int term = 1 + random.nextInt(360);
+            LocalDate dateFirstPayment = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(60 * 365));
+
+            assertSameSchedule(amount, rate, term, annuityPayment(amount, rate, term), dateFirstPayment);
+        }
+    }
+
+    @Test
+    void yearBoundaryDatesProduceIdenticalSchedules() {
+        SplittableRandom random = new SplittableRandom(2024);
+        for (int year = 2020; year <= 2030; year++) {
+            for (LocalDate date : List.of(LocalDate.of(year, 1, 1), LocalDate.of(year, 1, 31),
+                    LocalDate.of(year, 12, 1), LocalDate.of(year, 12, 31), LocalDate.of(year, 2, 28))) {
+                BigDecimal amount = BigDecimal.valueOf(10_000_00L + random.nextLong(5_000_000_00L), 2);
+                BigDecimal rate = BigDecimal.valueOf(5 + random.nextInt(25));
+                int term = 12 + random.nextInt(49);
+                assertSameSchedule(amount, rate, term, annuityPayment(amount, rate, term), date);
+            }
+        }
+    }
+
+    /**
+     * Проценты первого платежа ровно на половине копейки: результат определяется погрешностью
+     * округлённого дневного коэффициента, а не точным значением.
+     */
+    @Test
+    void halfKopeckInterestIsRoundedLikeBigDecimal() {
+        SplittableRandom random = new SplittableRandom(42);
+        int ties = 0;
+        for (int n = 0; n < 2_000; n++) {
+            LocalDate date = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(40 * 365));
+            DayCount dayCount = DayCountConvention.ACT_ACT.dayCount(date, true);
+            long rate = 1 + random.nextInt(99);
+            long denominator = 100L * dayCount.yearLength;
+            // Ищем остаток долга, при котором debt * rate * days / denominator = k + 1/2
+            long debt = 100 + random.nextInt(1_000_000);
+            long limit = debt + 100_000;
+            while (debt < limit && Math.floorMod(2 * debt * rate * dayCount.days, 2 * denominator) != denominator) {
+                debt++;
+            }
+            if (debt == limit) {
+                continue;
+            }
+            BigDecimal amount = BigDecimal.valueOf(debt, 2);
+            ties++;
+            assertSameSchedule(amount, BigDecimal.valueOf(rate), 3, amount.divide(BigDecimal.valueOf(3), 2, RoundingMode.DOWN), date);
+        }
+        assertTrue(ties > 100, "not enough half-kopeck cases: " + ties);
+    }
+
+    @Test
+    void unsupportedParametersFallBackToBigDecimal() {
+        LocalDate date = LocalDate.of(2024, 2, 29);
+        assertSameSchedule(new BigDecimal("100000.123"), BigDecimal.valueOf(20), 24, new BigDecimal("5089.61"), date);
+        assertSameSchedule(new BigDecimal("100000"), new BigDecimal("19.125"), 24, new BigDecimal("5079.91"), date);
+        assertSameSchedule(new BigDecimal("150000000"), BigDecimal.valueOf(12), 120, new BigDecimal("2152065.25"), date);
+        assertSameSchedule(new BigDecimal("99999999.99"), BigDecimal.valueOf(25), 36, new BigDecimal("1000.00"), date);
+    }
+
+    /**
+     * Один шаблон на много сумм: проценты считаются от фактического остатка, а не масштабируются
+     */
+    @Test
+    void templateIsSharedAcrossAmounts() {
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDate date = LocalDate.of(2024, 1, 31);
+        for (int n = 0; n < 2_000; n++) {
+            BigDecimal amount = BigDecimal.valueOf(10_000_00L + random.nextLong(50_000_000_00L), 2);
+            BigDecimal rate = BigDecimal.valueOf(10 + random.nextInt(3));
+            int term = List.of(12, 24, 60).get(random.nextInt(3));
+            assertSameSchedule(amount, rate, term, annuityPayment(amount, rate, term), date);
+        }
+    }
+
+    /**
+     * Графики на срок больше templateMaxTerm считаются без шаблона и в кэш не попадают
+     */
+    @Test
+    void longTermsBypassTemplateCache() {
+        ScheduleConfiguration scheduleConfiguration = new ScheduleConfiguration();
+        scheduleConfiguration.setTemplateMaxTerm(24);
+        TemplatePaymentScheduleEngine engine = new TemplatePaymentScheduleEngine(dayCountTable, scheduleConfiguration);
+        LocalDate date = LocalDate.of(2024, 1, 31);
+        BigDecimal amount = new BigDecimal("500000.00");
+        for (int term : List.of(24, 25, 60)) {
+            BigDecimal monthlyPayment = annuityPayment(amount, BigDecimal.TEN, term);
+            assertEquals(toList(reference.schedule(amount, BigDecimal.TEN, term, monthlyPayment, date)),
+                    toList(engine.schedule(amount, BigDecimal.TEN, term, monthlyPayment, date)), () -> "term=" + term);
+        }
+        assertEquals(1, engine.getSize());
+    }
+
+    /**
+     * Продолжение графика с остатка долга строки firstIndex совпадает с полным графиком во всех реализациях
+     */
+    @Test
+    void scheduleSuffixContinuesFullSchedule() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int n = 0; n < 1_000; n++) {
+            BigDecimal amount = BigDecimal.valueOf(10_000_00L + random.nextLong(50_000_000_00L), 2);
+            BigDecimal rate = BigDecimal.valueOf(200 + random.nextInt(2_800), 2);
+            int term = 2 + random.nextInt(359);
+            BigDecimal monthlyPayment = annuityPayment(amount, rate, term);
+            LocalDate date = LocalDate.of(2000, 1, 1).plusDays(random.nextInt(60 * 365));
+            List<PaymentScheduleElement> expected = toList(reference.schedule(amount, rate, term, monthlyPayment, date));
+
+            int firstIndex = 1 + random.nextInt(term - 1);
+            BigDecimal remainingDebt = expected.get(firstIndex - 1).getRemainingDebt();
+            LocalDate datePayment = expected.get(firstIndex).getDate();
+            for (PaymentScheduleEngine engine : List.of(reference, fixedPoint, template)) {
+                List<PaymentScheduleElement> actual = toList(engine.schedule(remainingDebt, rate, term, monthlyPayment, datePayment, firstIndex));
+                assertEquals(expected.subList(firstIndex, term), actual, () -> engine.getClass().getSimpleName()
+                        + " amount=" + amount + " rate=" + rate + " term=" + term + " firstIndex=" + firstIndex + " date=" + date);
+            }
+        }
+    }
+
+    /**
+     * Нулевая ставка считается целочисленно, отрицательная - через BigDecimal; результат тот же
+     */
+    @Test
+    void zeroAndNegativeRatesProduceIdenticalSchedules() {
+        LocalDate date = LocalDate.of(2024, 1, 31);
+        BigDecimal amount = new BigDecimal("300000.00");
+        assertSameSchedule(amount, BigDecimal.ZERO, 12, new BigDecimal("25000.00"), date);
+        assertSameSchedule(amount, new BigDecimal("0.00"), 7, new BigDecimal("42857.14"), date);
+        assertSameSchedule(amount, BigDecimal.valueOf(-5), 12, new BigDecimal("24300.00"), date);
+    }
+
+    @Test
+    void dayCountTableMatchesConvention() {
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        for (DayCountConvention convention : DayCountConvention.values()) {
+            DayCountTable table = new DayCountTable(convention, from, 10);
+            for (LocalDate date = from.minusYears(1); date.isBefore(from.plusYears(11)); date = date.plusDays(1)) {
+                for (boolean firstPayment : new boolean[] {true, false}) {
+                    DayCount expected = convention.dayCount(date, firstPayment);
+                    DayCount actual = table.get(date, firstPayment);
+                    assertEquals(expected, actual, convention + " " + date);
+                    assertEquals(expected.coefficient, actual.coefficient, convention + " " + date);
+                }
+            }
+        }
+    }
+
+    private void assertSameSchedule(BigDecimal amount, BigDecimal rate, int term, BigDecimal monthlyPayment, LocalDate date) {
+        List<PaymentScheduleElement> expected = toList(reference.schedule(amount, rate, term, monthlyPayment, date));
+        for (PaymentScheduleEngine engine : List.of(fixedPoint, template)) {
+            List<PaymentScheduleElement> actual = toList(engine.schedule(amount, rate, term, monthlyPayment, date));
+            assertEquals(expected, actual, () -> engine.getClass().getSimpleName()
+                    + " amount=" + amount + " rate=" + rate + " term=" + term + " payment=" + monthlyPayment + " date=" + date);
+        }
+    }
+
+    private static List<PaymentScheduleElement> toList(Iterator<PaymentScheduleElement> schedule) {
+        List<PaymentScheduleElement> rows = new ArrayList<>();
+        schedule.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static BigDecimal annuityPayment(BigDecimal amount, BigDecimal rate, int term) {
+        BigDecimal monthlyRate = rate.divide(BigDecimal.valueOf(1200), 20, RoundingMode.HALF_EVEN);
+        BigDecimal brackets = monthlyRate.add(BigDecimal.ONE).pow(term);
+        BigDecimal annuityRatio = monthlyRate.multiply(brackets)
+                .divide(brackets.subtract(BigDecimal.ONE), 20, RoundingMode.HALF_EVEN);
+        return amount.multiply(annuityRatio).setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
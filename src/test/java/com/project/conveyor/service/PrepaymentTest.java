@@ -0,0 +1,179 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.PaymentScheduleElement;
+import com.project.conveyor.model.PrepaymentRequestDTO;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+import com.project.conveyor.model.enums.PrepaymentType;
+import com.project.conveyor.model.enums.ScoringMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Досрочное погашение: строки до погашения не меняются, остаток графика погашает долг за вычетом
+ * досрочного платежа, ПСК считается по фактическим платежам; результат можно погасить повторно.
+ */
+@SpringBootTest(properties = "warm-up.enabled=false")
+class PrepaymentTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("300000");
+    private static final int TERM = 24;
+
+    @Autowired
+    private ConveyorServiceImpl conveyorService;
+
+    @Test
+    void reducePaymentKeepsTermAndLowersPayment() {
+        CreditDTO credit = credit();
+        BigDecimal prepayment = new BigDecimal("50000.00");
+        CreditDTO result = prepay(credit, 6, prepayment, PrepaymentType.REDUCE_PAYMENT);
+
+        assertValidPrepayment(credit, 6, prepayment, result);
+        assertEquals(TERM, result.getTerm());
+        assertTrue(result.getMonthlyPayment().compareTo(credit.getMonthlyPayment()) < 0);
+        assertPaymentsEqual(result, 6);
+    }
+
+    @Test
+    void reduceTermKeepsPaymentAndShortensTerm() {
+        CreditDTO credit = credit();
+        BigDecimal prepayment = new BigDecimal("50000.00");
+        CreditDTO result = prepay(credit, 6, prepayment, PrepaymentType.REDUCE_TERM);
+
+        assertValidPrepayment(credit, 6, prepayment, result);
+        BigDecimal remainingDebt = credit.getPaymentSchedule().get(5).getRemainingDebt().subtract(prepayment);
+        assertEquals(6 + ConveyorServiceImpl.remainingTerm(remainingDebt, credit.getRate(), credit.getMonthlyPayment(), TERM - 6),
+                result.getTerm());
+        assertTrue(result.getTerm() < TERM);
+        assertEquals(credit.getMonthlyPayment(), result.getMonthlyPayment());
+        assertPaymentsEqual(result, 6);
+    }
+
+    @Test
+    void prepaymentBeforeFirstPaymentRecalculatesWholeSchedule() {
+        CreditDTO credit = credit();
+        BigDecimal prepayment = new BigDecimal("100000.00");
+        for (PrepaymentType type : PrepaymentType.values()) {
+            CreditDTO result = prepay(credit, 0, prepayment, type);
+
+            assertValidPrepayment(credit, 0, prepayment, result);
+            assertEquals(credit.getPaymentSchedule().get(0).getDate(), result.getPaymentSchedule().get(0).getDate());
+            assertEquals(AMOUNT.subtract(prepayment), sumDebtPayments(result, 0), type::name);
+        }
+    }
+
+    @Test
+    void resultCanBePrepaidAgain() {
+        CreditDTO credit = credit();
+        for (PrepaymentType type : PrepaymentType.values()) {
+            CreditDTO first = prepay(credit, 3, new BigDecimal("30000.00"), type);
+            BigDecimal prepayment = new BigDecimal("20000.00");
+            CreditDTO second = prepay(first, 9, prepayment, type);
+
+            assertValidPrepayment(first, 9, prepayment, second);
+            assertEquals(credit.getPaymentSchedule().subList(0, 3), second.getPaymentSchedule().subList(0, 3), type::name);
+            assertTrue(second.getTerm() <= first.getTerm(), type::name);
+            assertTrue(second.getMonthlyPayment().compareTo(first.getMonthlyPayment()) <= 0, type::name);
+        }
+    }
+
+    @Test
+    void remainingTermCountsWholePayments() {
+        assertEquals(12, ConveyorServiceImpl.remainingTerm(new BigDecimal("120000"), BigDecimal.ZERO,
+                new BigDecimal("10000"), 24));
+        assertEquals(13, ConveyorServiceImpl.remainingTerm(new BigDecimal("120000.01"), BigDecimal.ZERO,
+                new BigDecimal("10000"), 24));
+        // Аннуитет 120000 на 12 месяцев под 12%: ровно 12 платежей, без лишнего из-за погрешности double
+        BigDecimal monthlyRate = new BigDecimal("0.01");
+        BigDecimal brackets = monthlyRate.add(BigDecimal.ONE).pow(12);
+        BigDecimal payment = new BigDecimal("120000").multiply(monthlyRate).multiply(brackets)
+                .divide(brackets.subtract(BigDecimal.ONE), 20, RoundingMode.HALF_EVEN);
+        assertEquals(12, ConveyorServiceImpl.remainingTerm(new BigDecimal("120000"), BigDecimal.valueOf(12), payment, 24));
+        assertEquals(1, ConveyorServiceImpl.remainingTerm(new BigDecimal("100"), BigDecimal.valueOf(12),
+                new BigDecimal("10000"), 24));
+    }
+
+    @Test
+    void remainingTermIsLimitedByMaxTerm() {
+        // Платёж не покрывает проценты - срок не сокращается
+        assertEquals(10, ConveyorServiceImpl.remainingTerm(new BigDecimal("120000"), BigDecimal.valueOf(12),
+                new BigDecimal("1200"), 10));
+        assertEquals(10, ConveyorServiceImpl.remainingTerm(new BigDecimal("120000"), BigDecimal.valueOf(12),
+                new BigDecimal("1000"), 10));
+        assertEquals(10, ConveyorServiceImpl.remainingTerm(new BigDecimal("120000"), BigDecimal.valueOf(12),
+                new BigDecimal("5000"), 10));
+    }
+
+    private CreditDTO prepay(CreditDTO credit, int paymentNumber, BigDecimal amount, PrepaymentType type) {
+        return conveyorService.calculationPrepayment(new PrepaymentRequestDTO(credit, paymentNumber, amount, type));
+    }
+
+    /**
+     * Общие для обоих видов погашения свойства: префикс графика, нумерация, погашение долга и ПСК
+     */
+    private static void assertValidPrepayment(CreditDTO credit, int paymentNumber, BigDecimal prepayment, CreditDTO result) {
+        List<PaymentScheduleElement> schedule = result.getPaymentSchedule();
+        assertEquals(result.getTerm(), schedule.size());
+        assertEquals(credit.getPaymentSchedule().subList(0, paymentNumber), schedule.subList(0, paymentNumber));
+        for (int i = 0; i < schedule.size(); i++) {
+            assertEquals(i + 1, schedule.get(i).getNumber());
+        }
+        assertEquals(0, schedule.get(schedule.size() - 1).getRemainingDebt().signum());
+
+        BigDecimal remainingDebt = paymentNumber == 0
+                ? credit.getAmount()
+                : credit.getPaymentSchedule().get(paymentNumber - 1).getRemainingDebt();
+        assertEquals(remainingDebt.subtract(prepayment), sumDebtPayments(result, paymentNumber));
+
+        BigDecimal totalAmount = prepayment;
+        for (PaymentScheduleElement payment : schedule) {
+            totalAmount = totalAmount.add(payment.getTotalPayment());
+        }
+        BigDecimal psk = totalAmount.subtract(credit.getAmount()).multiply(BigDecimal.valueOf(100))
+                .divide(credit.getAmount(), 2, RoundingMode.HALF_EVEN);
+        assertEquals(psk, result.getPsk());
+        assertEquals(credit.getAmount(), result.getAmount());
+        assertEquals(credit.getRate(), result.getRate());
+    }
+
+    /**
+     * Все платежи после погашения, кроме последнего, равны новому ежемесячному платежу
+     */
+    private static void assertPaymentsEqual(CreditDTO result, int paymentNumber) {
+        List<PaymentScheduleElement> schedule = result.getPaymentSchedule();
+        for (int i = paymentNumber; i < schedule.size() - 1; i++) {
+            assertEquals(result.getMonthlyPayment(), schedule.get(i).getTotalPayment(), "payment " + (i + 1));
+        }
+    }
+
+    private static BigDecimal sumDebtPayments(CreditDTO result, int paymentNumber) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (PaymentScheduleElement payment : result.getPaymentSchedule().subList(paymentNumber, result.getTerm())) {
+            sum = sum.add(payment.getDebtPayment());
+        }
+        return sum;
+    }
+
+    private CreditDTO credit() {
+        return conveyorService.calculationLoanParams(new ScoringDataDTO(AMOUNT, TERM, "Ivan", "Ivanov", null,
+                Gender.MALE, LocalDate.of(1990, 1, 1), "1234", "123456", LocalDate.of(2015, 1, 1), "branch",
+                MaritalStatus.MARRIED, 0,
+                new EmploymentDTO(EmploymentStatus.SELF_EMPLOYED, "7700000000", new BigDecimal("50000"),
+                        Position.MIDDLE_MANAGER, 24, 12),
+                "40817810000000000001", false, false), ScoringMode.ALL_REASONS);
+    }
+}
@@ -0,0 +1,184 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.PrescoringConfiguration;
+import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.ExceptionReasons;
+import com.project.conveyor.model.LoanApplicationRequestDTO;
+import com.project.conveyor.model.PaymentScheduleElement;
+import com.project.conveyor.model.PrepaymentRequestDTO;
+import com.project.conveyor.model.enums.PrepaymentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * PrescoringValidator с настройками prescoring-constants из application.yml должен принимать и отклонять
+ * те же заявки (с теми же причинами и текстами), что и регулярные выражения, которые раньше проверялись
+ * в ConveyorServiceImpl.prescoring. Кроме того - проверки запроса на досрочное погашение.
+ */
+class PrescoringValidatorTest {
+
+    /** Латиница, цифры, символы \w и e-mail, а также буквы и цифры вне ASCII, которых нет в [a-zA-Z] и \w */
+    private static final String ALPHABET = "azAZmq09_.@-+ \téяЖ１";
+
+    private final PrescoringValidator validator = new PrescoringValidator(shippedConfiguration());
+
+    @Test
+    void randomApplicationsMatchRegexes() {
+        SplittableRandom random = new SplittableRandom(2002);
+        LocalDate today = LocalDate.now();
+        List<BigDecimal> amounts = List.of(new BigDecimal("9999.99"), new BigDecimal("10000"),
+                new BigDecimal("10000.00"), new BigDecimal("300000"));
+        List<LocalDate> birthdates = List.of(today.minusYears(18), today.minusYears(18).plusDays(1), today.minusYears(40));
+        for (int n = 0; n < 50_000; n++) {
+            LoanApplicationRequestDTO request = new LoanApplicationRequestDTO(
+                    amounts.get(random.nextInt(amounts.size())),
+                    5 + random.nextInt(3),
+                    name(random),
+                    name(random),
+                    name(random),
+                    email(random),
+                    birthdates.get(random.nextInt(birthdates.size())),
+                    digits(random, 4),
+                    digits(random, 6));
+            assertEquals(regexChecks(request), validator.validate(request), request::toString);
+        }
+    }
+
+    @Test
+    void boundaryLengthsMatchRegexes() {
+        for (int length = 0; length <= 60; length++) {
+            String letters = "a".repeat(length);
+            String word = "a.".repeat(length / 2) + "_".repeat(length % 2);
+            LoanApplicationRequestDTO request = new LoanApplicationRequestDTO(new BigDecimal("10000"), 6,
+                    letters, letters.toUpperCase(), letters, word + "@" + word, LocalDate.of(1990, 1, 1),
+                    "1".repeat(length), "2".repeat(length));
+            assertEquals(regexChecks(request), validator.validate(request), request::toString);
+            for (int domain = 0; domain <= 25; domain++) {
+                request.setEmail(word + "@" + "b".repeat(domain));
+                assertEquals(regexChecks(request), validator.validate(request), request::toString);
+            }
+        }
+    }
+
+    /**
+     * Досрочное погашение по кредиту с нулевой или отрицательной ставкой отклоняется на проверке запроса:
+     * коэффициент аннуитета для нулевой ставки не определён
+     */
+    @Test
+    void prepaymentWithNonPositiveRateIsRejected() {
+        BigDecimal amount = new BigDecimal("300000.00");
+        BigDecimal monthlyPayment = new BigDecimal("25000.00");
+        List<PaymentScheduleElement> schedule = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            schedule.add(new PaymentScheduleElement(i, LocalDate.of(2024, 1, 31).plusMonths(i - 1), monthlyPayment,
+                    BigDecimal.ZERO, monthlyPayment, amount.subtract(monthlyPayment.multiply(BigDecimal.valueOf(i)))));
+        }
+        for (String rate : List.of("0", "0.00", "-5", "11.00001")) {
+            CreditDTO credit = new CreditDTO(amount, 12, monthlyPayment, new BigDecimal(rate), BigDecimal.ZERO, false, false, schedule);
+            for (PrepaymentType type : PrepaymentType.values()) {
+                List<ExceptionReasons> reasons = validator.validatePrepayment(
+                        new PrepaymentRequestDTO(credit, 3, new BigDecimal("10000.00"), type));
+                assertEquals(List.of("credit.rate"), reasons.stream().map(ExceptionReasons::getNameField).toList(), rate);
+            }
+        }
+    }
+
+    /**
+     * Чаще всего - строки из латинских букв нужной длины, чтобы проверялись и принятые значения
+     */
+    private static String name(SplittableRandom random) {
+        if (random.nextInt(3) > 0) {
+            return random(random, "abcxyzABCXYZ", random.nextInt(34));
+        }
+        return random(random, ALPHABET, random.nextInt(34));
+    }
+
+    private static String email(SplittableRandom random) {
+        if (random.nextInt(3) > 0) {
+            return random(random, "az09_.", random.nextInt(54)) + "@" + random(random, "az09_.", random.nextInt(24));
+        }
+        return random(random, ALPHABET, random.nextInt(80));
+    }
+
+    private static String digits(SplittableRandom random, int length) {
+        if (random.nextInt(3) > 0) {
+            return random(random, "0123456789", length - 1 + random.nextInt(3));
+        }
+        return random(random, ALPHABET, random.nextInt(length + 2));
+    }
+
+    private static String random(SplittableRandom random, String alphabet, int length) {
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return value.toString();
+    }
+
+    /**
+     * ConveyorServiceImpl.prescoring до перехода на PrescoringValidator
+     */
+    private static List<ExceptionReasons> regexChecks(LoanApplicationRequestDTO request) {
+        List<ExceptionReasons> reasons = new ArrayList<>();
+
+        if (!request.getFirstName().matches("^[a-zA-Z]{2,30}")) {
+            reasons.add(new ExceptionReasons("firstName",
+                    "Invalid first name. (from 2 to 30 Latin letters)"));
+        }
+        if (!request.getLastName().matches("^[a-zA-Z]{2,30}")) {
+            reasons.add(new ExceptionReasons("lastName",
+                    "Invalid last name. (from 2 to 30 Latin letters)"));
+        }
+        if (!request.getMiddleName().matches("^[a-zA-Z]{2,30}")) {
+            reasons.add(new ExceptionReasons("middleName",
+                    "Invalid middle name. (from 2 to 30 Latin letters)"));
+        }
+        if (request.getAmount().compareTo(new BigDecimal("10000.0")) < 0) {
+            reasons.add(new ExceptionReasons("amount",
+                    "Invalid amount. (a real number greater than or equal to 10000)"));
+        }
+        if (request.getTerm() < 6) {
+            reasons.add(new ExceptionReasons("term",
+                    "Invalid term. (an integer greater than or equal to 6)"));
+        }
+        if (request.getBirthdate().until(LocalDate.now()).getYears() < 18) {
+            reasons.add(new ExceptionReasons("birthdate",
+                    "Invalid birthdate. (in the format yyyy-mm-dd, no later than 18 years from the current day)"));
+        }
+        if (!request.getEmail().matches("[\\w\\.]{2,50}@[\\w\\.]{2,20}")) {
+            reasons.add(new ExceptionReasons("email",
+                    "Invalid email."));
+        }
+        if (!request.getPassportSeries().matches("[0-9]{4}")) {
+            reasons.add(new ExceptionReasons("passportSeries",
+                    "Invalid passport series. (4 digits)"));
+        }
+        if (!request.getPassportNumber().matches("[0-9]{6}")) {
+            reasons.add(new ExceptionReasons("passportNumber",
+                    "Invalid passport number. (6 digits)"));
+        }
+        return reasons;
+    }
+
+    private static PrescoringConfiguration shippedConfiguration() {
+        try {
+            Binder binder = new Binder(ConfigurationPropertySources.from(
+                    new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml")).get(0)));
+            return binder.bindOrCreate("prescoring-constants", PrescoringConfiguration.class);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
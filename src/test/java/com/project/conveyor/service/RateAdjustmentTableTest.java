@@ -0,0 +1,134 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.RateRulesConfiguration;
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Правила rate-rules из application.yml должны давать ту же ставку (вместе с масштабом), что и цепочка
+ * условий, которая раньше была записана в ConveyorServiceImpl.calculateRate, на всех сочетаниях
+ * перечислений (включая null), числа иждивенцев и возраста на границах.
+ */
+class RateAdjustmentTableTest {
+
+    @Test
+    void shippedRulesMatchIfElseCascade() throws IOException {
+        Binder binder = new Binder(ConfigurationPropertySources.from(
+                new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml")).get(0)));
+        RateRulesConfiguration configuration = binder.bindOrCreate("rate-rules", RateRulesConfiguration.class);
+        BigDecimal shippedDefaultRate = binder.bind("default-setting.default-rate", BigDecimal.class).get();
+
+        int checked = 0;
+        for (BigDecimal defaultRate : List.of(shippedDefaultRate, new BigDecimal("20"), new BigDecimal("15.25"))) {
+            RateAdjustmentTable table = new RateAdjustmentTable(defaultRate, configuration);
+            for (ScoringDataDTO request : requests()) {
+                assertEquals(ifElseCascade(defaultRate, request), table.rate(request), request::toString);
+                checked++;
+            }
+        }
+        assertEquals(3 * 4 * 3 * 3 * 4 * 4 * 54 * 2, checked);
+    }
+
+    private static List<ScoringDataDTO> requests() {
+        LocalDate today = LocalDate.now();
+        List<ScoringDataDTO> requests = new ArrayList<>();
+        for (EmploymentStatus employmentStatus : withNull(EmploymentStatus.values())) {
+            for (Position position : withNull(Position.values())) {
+                for (MaritalStatus maritalStatus : withNull(MaritalStatus.values())) {
+                    for (Gender gender : withNull(Gender.values())) {
+                        for (int dependentAmount = 0; dependentAmount <= 3; dependentAmount++) {
+                            for (int age = 18; age <= 71; age++) {
+                                // В день рождения и накануне
+                                for (LocalDate birthdate : List.of(today.minusYears(age), today.minusYears(age).plusDays(1))) {
+                                    requests.add(new ScoringDataDTO(BigDecimal.valueOf(300_000), 12, "Ivan", "Ivanov",
+                                            null, gender, birthdate, "1234", "123456", LocalDate.of(2015, 1, 1), "MVD",
+                                            maritalStatus, dependentAmount,
+                                            new EmploymentDTO(employmentStatus, "7707083893", BigDecimal.valueOf(50_000),
+                                                    position, 24, 12),
+                                            "40817810099910004312", false, false));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return requests;
+    }
+
+    @SafeVarargs
+    private static <E> List<E> withNull(E... values) {
+        List<E> list = new ArrayList<>(Arrays.asList(values));
+        list.add(null);
+        return list;
+    }
+
+    /**
+     * ConveyorServiceImpl.calculateRate до перехода на rate-rules
+     */
+    private static BigDecimal ifElseCascade(BigDecimal defaultRate, ScoringDataDTO request) {
+        EmploymentDTO employment = request.getEmployment();
+        BigDecimal rate = defaultRate;
+
+        EmploymentStatus employmentStatus = employment.getEmploymentStatus();
+        if (employmentStatus == EmploymentStatus.SELF_EMPLOYED) {
+            rate = rate.add(BigDecimal.valueOf(1));
+        }
+        if (employmentStatus == EmploymentStatus.BUSINESS_OWNER) {
+            rate = rate.add(BigDecimal.valueOf(3));
+        }
+
+        Position position = employment.getPosition();
+        if (position == Position.MIDDLE_MANAGER) {
+            rate = rate.subtract(BigDecimal.valueOf(2));
+        }
+        if (position == Position.TOP_MANAGER) {
+            rate = rate.subtract(BigDecimal.valueOf(4));
+        }
+
+        MaritalStatus maritalStatus = request.getMaritalStatus();
+        if (maritalStatus == MaritalStatus.MARRIED) {
+            rate = rate.subtract(BigDecimal.valueOf(3));
+        }
+        if (maritalStatus == MaritalStatus.DIVORCED) {
+            rate = rate.add(BigDecimal.valueOf(1));
+        }
+
+        if (request.getDependentAmount() > 1) {
+            rate = rate.add(BigDecimal.valueOf(1));
+        }
+
+        Gender gender = request.getGender();
+        LocalDate birthDate = request.getBirthdate();
+        int age = birthDate.until(LocalDate.now()).getYears();
+        if (gender == Gender.FEMALE && age >= 35 && age <= 60) {
+            rate = rate.subtract(BigDecimal.valueOf(3));
+        }
+        if (gender == Gender.MALE && age >= 30 && age <= 55) {
+            rate = rate.subtract(BigDecimal.valueOf(3));
+        }
+        if (gender == Gender.NON_BINARY) {
+            rate = rate.add(BigDecimal.valueOf(3));
+        }
+
+        return rate;
+    }
+}
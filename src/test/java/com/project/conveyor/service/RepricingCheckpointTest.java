@@ -0,0 +1,38 @@
+package com.project.conveyor.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Контрольная точка читается в том виде, в каком записана, и заменяется целиком
+ */
+class RepricingCheckpointTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void checkpointIsReadBack() throws IOException {
+        Path file = directory.resolve("out.csv.checkpoint");
+        assertNull(RepricingCheckpoint.read(file));
+
+        RepricingCheckpoint first = new RepricingCheckpoint(5_000_000_000L, 1_700_000_000_123L,
+                "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08", 321, 123, 10, 2, 1);
+        first.write(file);
+        assertEquals(first, RepricingCheckpoint.read(file));
+
+        RepricingCheckpoint second = new RepricingCheckpoint(5_000_000_000L, 1_700_000_000_123L,
+                first.settingsFingerprint(), 4_321_000_000L, 1_234_000_000L, 20_000_000, 3, 0);
+        second.write(file);
+        assertEquals(second, RepricingCheckpoint.read(file));
+        assertFalse(Files.exists(directory.resolve("out.csv.checkpoint.tmp")));
+    }
+}
@@ -0,0 +1,178 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.RepricingConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Пересчёт, прерванный после записи части блока, продолжается с контрольной точки: недописанный хвост
+ * выходного файла отбрасывается, и результат побайтно совпадает с непрерывным пересчётом.
+ */
+@SpringBootTest(properties = "warm-up.enabled=false")
+class RepricingJobTest {
+
+    private static final int CHUNK_SIZE = 7;
+    private static final int RECORDS = 200;
+
+    @Autowired
+    private ConveyorServiceImpl conveyorService;
+    @Autowired
+    private ConveyorSettingsHolder settingsHolder;
+    @Autowired
+    private ApplicationContext context;
+
+    @TempDir
+    Path directory;
+
+    private Path input;
+    private Path output;
+    private Path checkpointFile;
+    private RepricingJob job;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        input = directory.resolve("portfolio.csv");
+        output = directory.resolve("repriced.csv");
+        checkpointFile = directory.resolve("repriced.csv.checkpoint");
+        Files.writeString(input, portfolio(), StandardCharsets.UTF_8);
+
+        RepricingConfiguration configuration = new RepricingConfiguration();
+        configuration.setInput(input.toString());
+        configuration.setOutput(output.toString());
+        configuration.setChunkSize(CHUNK_SIZE);
+        configuration.setParallelism(2);
+        job = new RepricingJob(configuration, conveyorService, settingsHolder, context);
+    }
+
+    @Test
+    void everyRecordIsRepricedInInputOrder() throws IOException {
+        job.reprice();
+
+        List<String> lines = Files.readAllLines(output);
+        assertEquals(ScoringDataCsv.RESULT_HEADER, lines.get(0));
+        assertEquals(RECORDS + 1, lines.size());
+        for (int i = 1; i < lines.size(); i++) {
+            assertEquals(Integer.toString(i - 1), ScoringDataCsv.applicationId(lines.get(i)));
+        }
+        assertTrue(lines.stream().anyMatch(line -> line.contains(",OK,")));
+        assertTrue(lines.stream().anyMatch(line -> line.contains(",REJECTED,")));
+        assertTrue(lines.stream().anyMatch(line -> line.contains(",ERROR,")));
+        assertFalse(Files.exists(checkpointFile));
+    }
+
+    @Test
+    void resumedRunTruncatesPartialChunkAndMatchesUninterruptedRun() throws IOException {
+        job.reprice();
+        byte[] expected = Files.readAllBytes(output);
+        List<String> results = Files.readAllLines(output);
+
+        for (int chunks : new int[] {1, 5, RECORDS / CHUNK_SIZE}) {
+            int records = chunks * CHUNK_SIZE;
+            // Состояние после сбоя: контрольная точка после блока chunks, за ней в выходном файле - хвост
+            // недописанного блока, длиннее остатка результата, чтобы без обрезки он остался в файле
+            int outputOffset = bytes(results.subList(0, records + 1));
+            byte[] interrupted = Arrays.copyOf(expected, expected.length + 10);
+            Arrays.fill(interrupted, outputOffset, interrupted.length, (byte) 'x');
+            Files.write(output, interrupted);
+            new RepricingCheckpoint(Files.size(input),
+                    Files.getLastModifiedTime(input).toMillis(),
+                    settingsHolder.get().getFingerprint(),
+                    inputOffset(records),
+                    outputOffset,
+                    records,
+                    count(results.subList(1, records + 1), ",REJECTED,"),
+                    count(results.subList(1, records + 1), ",ERROR,")).write(checkpointFile);
+
+            job.reprice();
+
+            assertArrayEquals(expected, Files.readAllBytes(output), "resumed after " + chunks + " chunks");
+            assertFalse(Files.exists(checkpointFile));
+        }
+    }
+
+    @Test
+    void checkpointOfOtherRunIsRefused() throws IOException {
+        long inputSize = Files.size(input);
+        long inputModified = Files.getLastModifiedTime(input).toMillis();
+        String fingerprint = settingsHolder.get().getFingerprint();
+
+        new RepricingCheckpoint(inputSize, inputModified, "other", inputOffset(0), 0, 0, 0, 0).write(checkpointFile);
+        assertThrows(IllegalStateException.class, job::reprice);
+        new RepricingCheckpoint(inputSize + 1, inputModified, fingerprint, inputOffset(0), 0, 0, 0, 0).write(checkpointFile);
+        assertThrows(IllegalStateException.class, job::reprice);
+        new RepricingCheckpoint(inputSize, inputModified - 1, fingerprint, inputOffset(0), 0, 0, 0, 0).write(checkpointFile);
+        assertThrows(IllegalStateException.class, job::reprice);
+        assertFalse(Files.exists(output));
+    }
+
+    /**
+     * Смещение во входном файле после заголовка и records непустых строк - так его сохраняет RepricingJob
+     */
+    private long inputOffset(int records) throws IOException {
+        try (MappedLineReader reader = new MappedLineReader(input, 0)) {
+            reader.readLine();
+            int read = 0;
+            while (read < records) {
+                if (!reader.readLine().isEmpty()) {
+                    read++;
+                }
+            }
+            return reader.position();
+        }
+    }
+
+    private static int bytes(List<String> lines) {
+        return lines.stream().mapToInt(line -> line.getBytes(StandardCharsets.UTF_8).length + 1).sum();
+    }
+
+    private static long count(List<String> lines, String status) {
+        return lines.stream().filter(line -> line.contains(status)).count();
+    }
+
+    /**
+     * Анкеты с одобрением, отказом и ошибкой разбора; пустые строки пропускаются, часть строк - с \r\n
+     */
+    private static String portfolio() {
+        SplittableRandom random = new SplittableRandom(23);
+        List<String> statuses = List.of("SELF_EMPLOYED", "BUSINESS_OWNER", "UNEMPLOYED");
+        StringBuilder text = new StringBuilder(ScoringDataCsv.HEADER).append('\n');
+        for (int i = 0; i < RECORDS; i++) {
+            if (i % 29 == 0) {
+                text.append(i).append(",broken\n");
+                continue;
+            }
+            text.append(i)
+                    .append(',').append(10_000 + random.nextInt(1_000_000))
+                    .append(',').append(6 + random.nextInt(55))
+                    .append(",Ivan,Ivanov,Ivanovich,MALE,")
+                    .append(1960 + random.nextInt(40)).append("-05-13,1234,123456,2015-05-20,MVD,MARRIED,1,")
+                    .append(statuses.get(random.nextInt(statuses.size())))
+                    .append(",7707083893,").append(20_000 + random.nextInt(200_000))
+                    .append(",MIDDLE_MANAGER,").append(6 + random.nextInt(200)).append(',').append(1 + random.nextInt(36))
+                    .append(",40817810099910004312,").append(random.nextBoolean()).append(',').append(random.nextBoolean())
+                    .append(i % 3 == 0 ? "\r\n" : "\n");
+            if (i % 17 == 0) {
+                text.append('\n');
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,151 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.ScheduleJobConfiguration;
+import com.project.conveyor.exception.OverloadException;
+import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.PaymentScheduleElement;
+import com.project.conveyor.model.enums.ScheduleJobStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Хранение завершённых задач (maxJobs, maxRows, ttl), отказ при заполненной очереди и завершение задачи при Error
+ */
+class ScheduleJobsTest {
+
+    private static final PaymentScheduleElement ROW = new PaymentScheduleElement(1, LocalDate.of(2024, 1, 31),
+            BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ZERO);
+
+    private ScheduleJobs scheduleJobs;
+
+    @AfterEach
+    void shutdown() {
+        if (scheduleJobs != null) {
+            scheduleJobs.shutdown();
+        }
+    }
+
+    @Test
+    void oldestJobsAreEvictedOverMaxJobs() {
+        ScheduleJobConfiguration configuration = new ScheduleJobConfiguration();
+        configuration.setMaxJobs(2);
+        scheduleJobs = new ScheduleJobs(configuration);
+
+        ScheduleJob first = completed(rows(1));
+        ScheduleJob second = completed(rows(1));
+        assertTrue(scheduleJobs.find(first.getId()).isPresent());
+        ScheduleJob third = completed(rows(1));
+
+        assertFalse(scheduleJobs.find(first.getId()).isPresent());
+        assertTrue(scheduleJobs.find(second.getId()).isPresent());
+        assertTrue(scheduleJobs.find(third.getId()).isPresent());
+    }
+
+    @Test
+    void oldestJobsAreEvictedOverMaxRows() {
+        ScheduleJobConfiguration configuration = new ScheduleJobConfiguration();
+        configuration.setMaxRows(10);
+        scheduleJobs = new ScheduleJobs(configuration);
+
+        ScheduleJob first = completed(rows(4));
+        ScheduleJob second = completed(rows(6));
+        assertTrue(scheduleJobs.find(first.getId()).isPresent());
+        ScheduleJob third = completed(rows(1));
+
+        assertFalse(scheduleJobs.find(first.getId()).isPresent());
+        assertTrue(scheduleJobs.find(second.getId()).isPresent());
+        assertTrue(scheduleJobs.find(third.getId()).isPresent());
+    }
+
+    @Test
+    void expiredJobsAreEvicted() throws InterruptedException {
+        ScheduleJobConfiguration configuration = new ScheduleJobConfiguration();
+        configuration.setTtl(Duration.ofMillis(100));
+        scheduleJobs = new ScheduleJobs(configuration);
+
+        ScheduleJob job = completed(rows(1));
+        assertTrue(scheduleJobs.find(job.getId()).isPresent());
+        Thread.sleep(200);
+        assertFalse(scheduleJobs.find(job.getId()).isPresent());
+    }
+
+    @Test
+    void fullQueueIsRejected() throws InterruptedException {
+        ScheduleJobConfiguration configuration = new ScheduleJobConfiguration();
+        configuration.setWorkers(1);
+        configuration.setQueueCapacity(1);
+        scheduleJobs = new ScheduleJobs(configuration);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ScheduleJob running = scheduleJobs.submit(credit(), () -> {
+            started.countDown();
+            await(release);
+            return rows(1);
+        });
+        started.await();
+        ScheduleJob queued = scheduleJobs.submit(credit(), () -> rows(1));
+
+        assertThrows(OverloadException.class, () -> scheduleJobs.submit(credit(), () -> rows(1)));
+        assertEquals(ScheduleJobStatus.RUNNING, running.getStatus());
+        assertEquals(ScheduleJobStatus.PENDING, queued.getStatus());
+
+        release.countDown();
+        assertEquals(1, queued.getPaymentSchedule().join().size());
+        assertEquals(ScheduleJobStatus.DONE, running.getStatus());
+    }
+
+    @Test
+    void errorFailsJob() {
+        scheduleJobs = new ScheduleJobs(new ScheduleJobConfiguration());
+
+        ScheduleJob job = scheduleJobs.submit(credit(), () -> {
+            throw new StackOverflowError();
+        });
+
+        CompletionException e = assertThrows(CompletionException.class, () -> job.getPaymentSchedule().join());
+        assertInstanceOf(StackOverflowError.class, e.getCause());
+        assertEquals(ScheduleJobStatus.FAILED, job.getStatus());
+    }
+
+    private ScheduleJob completed(List<PaymentScheduleElement> rows) {
+        ScheduleJob job = scheduleJobs.submit(credit(), () -> rows);
+        job.getPaymentSchedule().join();
+        // Задача попадает в список завершённых после завершения графика, в finally обработчика
+        while (scheduleJobs.getActiveCount() > 0) {
+            Thread.onSpinWait();
+        }
+        return job;
+    }
+
+    private static List<PaymentScheduleElement> rows(int count) {
+        return Collections.nCopies(count, ROW);
+    }
+
+    private static CreditDTO credit() {
+        return new CreditDTO(BigDecimal.valueOf(100_000), 12, BigDecimal.valueOf(9_000), BigDecimal.valueOf(20),
+                BigDecimal.valueOf(20), false, false, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
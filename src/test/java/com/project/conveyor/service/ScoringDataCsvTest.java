@@ -0,0 +1,76 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.model.CreditDTO;
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.ExceptionReasons;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Разбор строки входного файла пересчёта и форматирование строк результата
+ */
+class ScoringDataCsvTest {
+
+    private static final String LINE = "42,300000.00,12,Ivan,Ivanov,Ivanovich,MALE,1990-01-01,1234,123456,2015-01-01,MVD,"
+            + "MARRIED,1,SELF_EMPLOYED,7707083893,50000,MIDDLE_MANAGER,24,12,40817810099910004312,true,false";
+
+    @Test
+    void lineIsParsedIntoScoringData() {
+        assertEquals(new ScoringDataDTO(new BigDecimal("300000.00"), 12, "Ivan", "Ivanov", "Ivanovich", Gender.MALE,
+                        LocalDate.of(1990, 1, 1), "1234", "123456", LocalDate.of(2015, 1, 1), "MVD",
+                        MaritalStatus.MARRIED, 1,
+                        new EmploymentDTO(EmploymentStatus.SELF_EMPLOYED, "7707083893", new BigDecimal("50000"),
+                                Position.MIDDLE_MANAGER, 24, 12),
+                        "40817810099910004312", true, false),
+                ScoringDataCsv.parse(LINE));
+        assertEquals("42", ScoringDataCsv.applicationId(LINE));
+    }
+
+    @Test
+    void emptyValuesAreNull() {
+        String line = "7," + ",".repeat(ScoringDataCsv.HEADER.split(",").length - 2);
+        ScoringDataDTO request = ScoringDataCsv.parse(line);
+        assertEquals(new ScoringDataDTO(null, null, null, null, null, null, null, null, null, null, null, null, null,
+                new EmploymentDTO(null, null, null, null, null, null), null, null, null), request);
+        assertEquals("7", ScoringDataCsv.applicationId(line));
+        assertEquals("7", ScoringDataCsv.applicationId("7"));
+    }
+
+    @Test
+    void malformedLinesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ScoringDataCsv.parse("42,300000,12"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringDataCsv.parse(LINE + ",extra"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringDataCsv.parse(LINE.replace("MALE", "UNKNOWN")));
+        assertThrows(NumberFormatException.class, () -> ScoringDataCsv.parse(LINE.replace("300000.00", "many")));
+    }
+
+    @Test
+    void resultLinesMatchResultHeader() {
+        int columns = ScoringDataCsv.RESULT_HEADER.split(",", -1).length;
+        CreditDTO credit = new CreditDTO(new BigDecimal("300000.00"), 12, new BigDecimal("26627.14"),
+                new BigDecimal("12.5"), new BigDecimal("6.51"), false, false, List.of());
+
+        String ok = ScoringDataCsv.result("42", credit);
+        assertEquals("42,OK,12.5,26627.14,6.51,", ok);
+        String rejected = ScoringDataCsv.rejected("42", List.of(new ExceptionReasons("salary", "low"),
+                new ExceptionReasons("birthdate", "age")));
+        assertEquals("42,REJECTED,,,,salary;birthdate", rejected);
+        String error = ScoringDataCsv.error("42", new IllegalArgumentException("bad,value\r\nnext"));
+        assertEquals("42,ERROR,,,,IllegalArgumentException: bad value  next", error);
+
+        for (String line : List.of(ok, rejected, error)) {
+            assertEquals(columns, line.split(",", -1).length, line);
+        }
+    }
+}
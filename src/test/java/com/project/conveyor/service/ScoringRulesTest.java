@@ -0,0 +1,165 @@
+package com.project.conveyor.service;
+
+import com.project.conveyor.config.BasicConfiguration;
+import com.project.conveyor.config.PrescoringConfiguration;
+import com.project.conveyor.config.RateRulesConfiguration;
+import com.project.conveyor.config.ScoringConfiguration;
+import com.project.conveyor.model.EmploymentDTO;
+import com.project.conveyor.model.ExceptionReasons;
+import com.project.conveyor.model.ScoringDataDTO;
+import com.project.conveyor.model.enums.EmploymentStatus;
+import com.project.conveyor.model.enums.Gender;
+import com.project.conveyor.model.enums.MaritalStatus;
+import com.project.conveyor.model.enums.Position;
+import com.project.conveyor.model.enums.ScoringMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Правила скоринга должны давать те же причины отказа, что и проверки, которые раньше были записаны
+ * в ConveyorServiceImpl подряд, на всех сочетаниях граничных значений.
+ */
+class ScoringRulesTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("300000.00");
+
+    private final ConveyorSettings settings = settings();
+    private final ScoringRules scoringRules = new ScoringRules();
+
+    @AfterEach
+    void shutdown() {
+        scoringRules.shutdown();
+    }
+
+    @Test
+    void allReasonsMatchInlineChecks() {
+        for (ScoringDataDTO request : boundaryRequests()) {
+            assertEquals(inlineChecks(request), scoringRules.check(request, settings, ScoringMode.ALL_REASONS),
+                    request::toString);
+        }
+    }
+
+    @Test
+    void failFastReturnsOneOfAllReasons() {
+        for (ScoringDataDTO request : boundaryRequests()) {
+            List<ExceptionReasons> allReasons = inlineChecks(request);
+            List<ExceptionReasons> reasons = scoringRules.check(request, settings, ScoringMode.FAIL_FAST);
+            assertEquals(allReasons.isEmpty() ? 0 : 1, reasons.size(), request::toString);
+            assertTrue(allReasons.containsAll(reasons), request::toString);
+        }
+    }
+
+    @Test
+    void failFastOrderUsesOnlyAllReasonsStatistics() {
+        // Отказ только по возрасту: самое дорогое правило становится первым
+        ScoringDataDTO request = request(EmploymentStatus.SELF_EMPLOYED, new BigDecimal("100000"),
+                LocalDate.now().minusYears(70), 24, 12);
+        for (int i = 0; i < 100_000; i++) {
+            scoringRules.check(request, settings, ScoringMode.FAIL_FAST);
+        }
+        scoringRules.reorder();
+        assertEquals(ScoringRule.EMPLOYMENT_STATUS, scoringRules.getFailFastOrder().get(0));
+
+        for (int i = 0; i < 100_000; i++) {
+            scoringRules.check(request, settings, ScoringMode.ALL_REASONS);
+        }
+        scoringRules.reorder();
+        assertEquals(ScoringRule.AGE, scoringRules.getFailFastOrder().get(0));
+    }
+
+    private static List<ScoringDataDTO> boundaryRequests() {
+        LocalDate today = LocalDate.now();
+        List<LocalDate> birthdates = List.of(today.minusYears(20), today.minusYears(20).plusDays(1),
+                today.minusYears(61), today.minusYears(61).plusDays(1), today.minusYears(35));
+        List<BigDecimal> salaries = List.of(new BigDecimal("15000"), new BigDecimal("14999.99"), new BigDecimal("15000.01"));
+        List<ScoringDataDTO> requests = new ArrayList<>();
+        for (EmploymentStatus employmentStatus : EmploymentStatus.values()) {
+            for (BigDecimal salary : salaries) {
+                for (LocalDate birthdate : birthdates) {
+                    for (int workExperienceTotal = 11; workExperienceTotal <= 13; workExperienceTotal++) {
+                        for (int workExperienceCurrent = 2; workExperienceCurrent <= 4; workExperienceCurrent++) {
+                            requests.add(request(employmentStatus, salary, birthdate, workExperienceTotal, workExperienceCurrent));
+                        }
+                    }
+                }
+            }
+        }
+        return requests;
+    }
+
+    private static ScoringDataDTO request(EmploymentStatus employmentStatus, BigDecimal salary, LocalDate birthdate,
+                                          int workExperienceTotal, int workExperienceCurrent) {
+        return new ScoringDataDTO(AMOUNT, 12, "Ivan", "Ivanov", null, Gender.MALE, birthdate,
+                "1234", "123456", LocalDate.of(2015, 1, 1), "branch", MaritalStatus.MARRIED, 0,
+                new EmploymentDTO(employmentStatus, "7700000000", salary, Position.MIDDLE_MANAGER,
+                        workExperienceTotal, workExperienceCurrent),
+                "40817810000000000001", false, false);
+    }
+
+    /**
+     * Проверки скоринга в том виде, в каком они были в ConveyorServiceImpl.checkScoring
+     */
+    private List<ExceptionReasons> inlineChecks(ScoringDataDTO request) {
+        EmploymentDTO employment = request.getEmployment();
+
+        List<ExceptionReasons> reasons = new ArrayList<>();
+
+        if (employment.getEmploymentStatus() == EmploymentStatus.UNEMPLOYED) {
+            reasons.add(new ExceptionReasons("employmentStatus",
+                    "You're employment status is UNEMPLOYED."));
+        }
+
+        BigDecimal limitRequestedAmount = employment.getSalary().multiply(settings.getLoanToSalaryRatio());
+        if (limitRequestedAmount.compareTo(request.getAmount()) < 0) {
+            reasons.add(new ExceptionReasons("amount/salary",
+                    "The loan amount is more than 20 salaries."));
+        }
+
+        LocalDate birthDate = request.getBirthdate();
+        int age = birthDate.until(LocalDate.now()).getYears();
+        if (age < settings.getScoringMinAge() || age > settings.getScoringMaxAge()) {
+            reasons.add(new ExceptionReasons("birthdate",
+                    "Age less than 20 or more than 60 years."));
+        }
+
+        int workExperienceTotal = employment.getWorkExperienceTotal();
+        if (workExperienceTotal < settings.getMinWorkExperienceTotal()) {
+            reasons.add(new ExceptionReasons("workExperienceTotal",
+                    "Total experience less than 12 months."));
+        }
+
+        int workExperienceCurrent = employment.getWorkExperienceCurrent();
+        if (workExperienceCurrent <= settings.getMinWorkExperienceCurrent()) {
+            reasons.add(new ExceptionReasons("workExperienceCurrent",
+                    "Current experience less than 3 months."));
+        }
+        return reasons;
+    }
+
+    private static ConveyorSettings settings() {
+        BasicConfiguration basicConfiguration = new BasicConfiguration();
+        basicConfiguration.setDefaultRate(BigDecimal.valueOf(15));
+        basicConfiguration.setInsuranceRateDiscount(BigDecimal.valueOf(3));
+        basicConfiguration.setSalaryClientRateDiscount(BigDecimal.ONE);
+        PrescoringConfiguration prescoringConfiguration = new PrescoringConfiguration();
+        prescoringConfiguration.setMinRequestedAmount(BigDecimal.valueOf(10_000));
+        prescoringConfiguration.setMinTerm(6);
+        prescoringConfiguration.setMinAge(18);
+        ScoringConfiguration scoringConfiguration = new ScoringConfiguration();
+        scoringConfiguration.setLoanToSalaryRatio(BigDecimal.valueOf(20));
+        scoringConfiguration.setMinAge(20);
+        scoringConfiguration.setMaxAge(60);
+        scoringConfiguration.setMinWorkExperienceTotal(12);
+        scoringConfiguration.setMinWorkExperienceCurrent(3);
+        return ConveyorSettings.of(1, basicConfiguration, prescoringConfiguration, scoringConfiguration,
+                new RateRulesConfiguration());
+    }
+}